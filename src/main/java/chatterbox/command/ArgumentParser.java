@@ -0,0 +1,304 @@
+package chatterbox.command;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import chatterbox.task.DeadlineTask;
+
+/**
+ * Parses the arguments of commands into typed records, such as a {@link Selection} of tasks
+ * or the {@link Description} of a new task.
+ *
+ * <p>Arguments that cannot be parsed are returned as records that carry the reason, so commands
+ * tell the user what went wrong without catching exceptions. Times should follow the format
+ * dd-mm-yyyy HH:mm.
+ */
+final class ArgumentParser {
+    private static final String TIME_FORMAT_ERROR =
+            "Oops! Your time format is incorrect! It should be \"dd-mm-yyyy HH:mm\". Try Again!\n";
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final int NOT_A_POSITION = -1;
+    private static final int TOO_LARGE = Integer.MAX_VALUE;
+
+    private ArgumentParser() {
+    }
+
+    /**
+     * Parses which tasks a command applies to. Tasks are chosen either by positions and ranges
+     * of positions separated by commas, such as {@code 1,5,9-20}, or by the same filter words as
+     * {@code list}, such as {@code done}. Numbers too large for an int are out of bounds.
+     *
+     * @param text Text entered after the command
+     * @return The chosen tasks, or the problem with the text
+     */
+    static Selection selection(String text) {
+        if (text.isEmpty()) {
+            return Selection.failure(Selection.Problem.MISSING);
+        }
+
+        if (Character.isLetter(text.charAt(0))) {
+            Filter filter = Filter.parse(CommandLexer.words(text));
+            return filter == null
+                    ? Selection.failure(Selection.Problem.MALFORMED)
+                    : new Selection(filter, null, null);
+        }
+
+        int[] ranges = new int[2 * ((int) text.chars().filter(c -> c == ',').count() + 1)];
+        int start = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            int end = text.indexOf(',', start);
+            if (end < 0) {
+                end = text.length();
+            }
+
+            String range = text.substring(start, end);
+            int dash = range.indexOf('-');
+            int from = parsePosition(dash < 0 ? range : range.substring(0, dash));
+            int to = dash < 0 ? from : parsePosition(range.substring(dash + 1));
+            if (from == NOT_A_POSITION || to == NOT_A_POSITION) {
+                return Selection.failure(Selection.Problem.MALFORMED);
+            }
+            if (from == TOO_LARGE || to == TOO_LARGE) {
+                return Selection.failure(Selection.Problem.OUT_OF_BOUNDS);
+            }
+            if (from > to) {
+                return Selection.failure(Selection.Problem.MALFORMED);
+            }
+            if (from < 1) {
+                return Selection.failure(Selection.Problem.OUT_OF_BOUNDS);
+            }
+
+            ranges[i] = from;
+            ranges[i + 1] = to;
+            start = end + 1;
+        }
+        return new Selection(null, ranges, null);
+    }
+
+    /**
+     * Parses the positions of the first and last tasks on a page of the list. Without a last
+     * position, the page holds {@code pageSize} tasks.
+     *
+     * @param positions One or two numbers, as checked by {@link CommandLexer#isNumber(CharSequence)}
+     * @param pageSize Number of tasks on a page without a last position
+     * @return The positions, or the reason they are too large
+     */
+    static PageRange page(List<String> positions, int pageSize) {
+        long from = parseNumber(positions.get(0), Integer.MAX_VALUE);
+        long to = positions.size() > 1 ? parseNumber(positions.get(1), Long.MAX_VALUE) : from + pageSize - 1;
+        if (from < 0 || to < 0) {
+            return PageRange.failure("Uh oh! Those positions are too large! Try: list <from> [to]\n");
+        }
+
+        return new PageRange((int) from, to, null);
+    }
+
+    /**
+     * Parses a day in the format dd-mm-yyyy.
+     *
+     * @param arguments Text entered after the command
+     * @return The day, or the reason it could not be parsed
+     */
+    static Day day(String arguments) {
+        try {
+            return new Day(LocalDate.parse(arguments, DAY_FORMAT), null);
+        } catch (DateTimeException e) {
+            return Day.failure("Oops! Your day format is incorrect! It should be \"dd-mm-yyyy\". Try Again!\n");
+        }
+    }
+
+    /**
+     * Parses a description that must not be empty.
+     *
+     * @param arguments Text entered after the command
+     * @param missingError Response to show if there is no description
+     * @return The description, without any times
+     */
+    static Description description(String arguments, String missingError) {
+        return arguments.isEmpty()
+                ? Description.failure(missingError)
+                : new Description(arguments, null, null);
+    }
+
+    /**
+     * Parses the description and deadline of a deadline task.
+     * <p>Input Format: {@code <description> /by <time>}
+     *
+     * @param arguments Text entered after the command
+     * @return The description, with the deadline as the end of its times
+     */
+    static Description deadline(String arguments) {
+        if (arguments.isEmpty()) {
+            return Description.failure(
+                    "Uh oh! You forgot to include a description for your deadline task! Try again!\n");
+        }
+
+        String missing = missingDelimiter(arguments, " /by ");
+        if (missing != null) {
+            return Description.failure(missing);
+        }
+
+        String[] tokens = split(arguments, " /by ");
+        LocalDateTime deadline = parseTime(tokens[1]);
+        if (deadline == null) {
+            return Description.failure(
+                    "Oops! Your deadline format is incorrect! It should be \"dd-mm-yyyy HH:mm\". Try Again!\n");
+        }
+
+        return new Description(tokens[0], new TimeRange(null, deadline, null), null);
+    }
+
+    /**
+     * Parses the description, start and end of an event task. An event cannot end before it starts.
+     * <p>Input Format: {@code <description> /from <time> /to <time>}
+     *
+     * @param arguments Text entered after the command
+     * @return The description, with the times the event is on
+     */
+    static Description event(String arguments) {
+        if (arguments.isEmpty()) {
+            return Description.failure(
+                    "Uh oh! You forgot to include a description for your event task! Try again!\n");
+        }
+
+        String missing = missingDelimiter(arguments, " /from ", " /to ");
+        if (missing != null) {
+            return Description.failure(missing);
+        }
+
+        String[] tokens = split(arguments, " /from ", " /to ");
+        LocalDateTime start = parseTime(tokens[1]);
+        LocalDateTime end = parseTime(tokens[2]);
+        if (start == null || end == null) {
+            return Description.failure(
+                    "Oops! Your event time format is incorrect! It should be \"dd-mm-yyyy HH:mm\". Try Again!\n");
+        }
+        if (end.isBefore(start)) {
+            return Description.failure("Uh oh! Your event cannot end before it starts! Try again!\n");
+        }
+
+        return new Description(tokens[0], new TimeRange(start, end, null), null);
+    }
+
+    /**
+     * Parses the period of a {@code due} query, which has no start if only its end is given.
+     * <p>Input Format: {@code before <time>} or {@code between <time> and <time>}
+     *
+     * @param arguments Text entered after the command
+     * @return The period to search
+     */
+    static TimeRange due(String arguments) {
+        if (arguments.startsWith("before ")) {
+            LocalDateTime end = parseTime(arguments.substring(7).trim());
+            return end == null ? TimeRange.failure(TIME_FORMAT_ERROR) : new TimeRange(null, end, null);
+        }
+        if (arguments.startsWith("between ")) {
+            return between(arguments.substring(8));
+        }
+
+        return TimeRange.failure("Uh oh! You did not input your query correctly! "
+                + "Try: due before <time> or due between <time> and <time>\n");
+    }
+
+    /**
+     * Parses the period of an {@code events} query.
+     * <p>Input Format: {@code between <time> and <time>}
+     *
+     * @param arguments Text entered after the command
+     * @return The period to search
+     */
+    static TimeRange events(String arguments) {
+        if (arguments.startsWith("between ")) {
+            return between(arguments.substring(8));
+        }
+
+        return TimeRange.failure(
+                "Uh oh! You did not input your query correctly! Try: events between <time> and <time>\n");
+    }
+
+    private static TimeRange between(String text) {
+        String missing = missingDelimiter(text, " and ");
+        if (missing != null) {
+            return TimeRange.failure(missing);
+        }
+
+        String[] tokens = split(text, " and ");
+        LocalDateTime start = parseTime(tokens[0]);
+        LocalDateTime end = parseTime(tokens[1]);
+        return start == null || end == null ? TimeRange.failure(TIME_FORMAT_ERROR) : new TimeRange(start, end, null);
+    }
+
+    /**
+     * Returns the time, or null if it does not follow the format dd-mm-yyyy HH:mm.
+     */
+    private static LocalDateTime parseTime(String text) {
+        try {
+            return DeadlineTask.parseDateTime(text);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the number written in decimal digits, or -1 if it is larger than {@code max}.
+     */
+    private static long parseNumber(String digits, long max) {
+        long value = 0;
+        for (int i = 0; i < digits.length(); ++i) {
+            int digit = digits.charAt(i) - '0';
+            if (value > (max - digit) / 10) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the position written as a decimal number, {@value #NOT_A_POSITION} if the text is
+     * not a number, or {@link #TOO_LARGE} if the number does not fit in an int.
+     */
+    private static int parsePosition(String text) {
+        String digits = text.strip();
+        if (!CommandLexer.isNumber(digits)) {
+            return NOT_A_POSITION;
+        }
+        return digits.length() > 9 ? TOO_LARGE : Integer.parseInt(digits);
+    }
+
+    /**
+     * Returns the response for input that lacks one of the delimiters, looking for each one
+     * after the previous, or null if every delimiter is present.
+     */
+    private static String missingDelimiter(String input, String... delimiters) {
+        int lastIndex = 0;
+        for (String delimiter : delimiters) {
+            int index = input.indexOf(delimiter, lastIndex);
+            if (index == -1) {
+                return "Uh oh! You forgot to include the delimiter: " + delimiter + '\n';
+            }
+            lastIndex = index + delimiter.length();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the parts of the input between the delimiters, without surrounding whitespace.
+     * Every delimiter must be present, as checked by {@link #missingDelimiter(String, String...)}.
+     */
+    private static String[] split(String input, String... delimiters) {
+        String[] parts = new String[delimiters.length + 1];
+        int lastIndex = 0;
+        for (int i = 0; i < delimiters.length; ++i) {
+            int index = input.indexOf(delimiters[i], lastIndex);
+            parts[i] = input.substring(lastIndex, index).trim();
+            lastIndex = index + delimiters[i].length();
+        }
+        parts[delimiters.length] = input.substring(lastIndex).trim();
+
+        return parts;
+    }
+}
@@ -0,0 +1,96 @@
+package chatterbox.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits lines of user input into commands and words by walking their characters once.
+ *
+ * <p>Unlike {@link java.util.Scanner}, nothing is matched against a regular expression and no
+ * exception is thrown for malformed input, so parsing a command only allocates the strings it
+ * returns. Whitespace is any character for which {@link Character#isWhitespace(char)} holds,
+ * the same characters that separate the tokens of a {@code Scanner}.
+ */
+public final class CommandLexer {
+    private static final String EMPTY_INPUT = "You did not input any command! Try again!";
+
+    private CommandLexer() {
+    }
+
+    /**
+     * Splits the line into the first word, which names the command, and the rest of the line.
+     *
+     * @param line Line of user input
+     * @return The parsed command, or a failure if the line is blank
+     */
+    public static ParsedCommand parse(String line) {
+        int length = line.length();
+        int nameStart = skipWhitespace(line, 0);
+        if (nameStart == length) {
+            return ParsedCommand.failure(EMPTY_INPUT);
+        }
+
+        int nameEnd = skipWord(line, nameStart);
+        int argumentsStart = skipWhitespace(line, nameEnd);
+        int argumentsEnd = length;
+        while (argumentsEnd > argumentsStart && Character.isWhitespace(line.charAt(argumentsEnd - 1))) {
+            --argumentsEnd;
+        }
+
+        return ParsedCommand.of(line.substring(nameStart, nameEnd), line.substring(argumentsStart, argumentsEnd));
+    }
+
+    /**
+     * Returns the words of the text, which are the runs of characters between whitespace.
+     *
+     * @param text Text to be split
+     * @return Words in the order they appear, which is empty if the text is blank
+     */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        int position = skipWhitespace(text, 0);
+        while (position < text.length()) {
+            int end = skipWord(text, position);
+            words.add(text.substring(position, end));
+            position = skipWhitespace(text, end);
+        }
+        return words;
+    }
+
+    /**
+     * Returns whether the text is a non-empty run of the digits 0 to 9.
+     *
+     * @param text Text to be checked
+     * @return true if every character is a digit
+     */
+    public static boolean isNumber(CharSequence text) {
+        if (text.length() == 0) {
+            return false;
+        }
+
+        for (int i = 0; i < text.length(); ++i) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int skipWhitespace(String text, int position) {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            ++position;
+        }
+        return position;
+    }
+
+    private static int skipWord(String text, int position) {
+        while (position < text.length() && !Character.isWhitespace(text.charAt(position))) {
+            ++position;
+        }
+        return position;
+    }
+}
@@ -1,13 +1,12 @@
 package chatterbox.command;
 
-import java.time.DateTimeException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.InputMismatchException;
-import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.List;
 
-import chatterbox.exception.ChatterBoxException;
 import chatterbox.memory.MemoryStorage;
 import chatterbox.memory.Storage;
 import chatterbox.task.DeadlineTask;
@@ -22,13 +21,19 @@ import chatterbox.task.TodoTask;
  * to specific actions, such as adding, marking, unmarking, deleting, and
  * searching tasks. Commands are validated and executed using the appropriate
  * {@link Runnable} implementation. All task modifications are reflected in
- * both memory and persistent storage.
+ * both memory and persistent storage. Changes made by adding, marking, unmarking
+ * and deleting tasks are recorded in the {@link UndoLog} passed in with each command, which
+ * the caller keeps for as long as it uses the storage.
  *
  * <p>Common commands include {@code list}, {@code mark}, {@code unmark},
- * {@code todo}, {@code deadline}, {@code event}, {@code delete}, and {@code find}.
+ * {@code todo}, {@code deadline}, {@code event}, {@code delete}, {@code find}, {@code find~},
+ * {@code due}, {@code upcoming}, {@code events}, {@code agenda}, {@code undo} and {@code redo}.
  */
 public class CommandProcessor {
     private static final HashMap<String, Runnable> commands = new HashMap<>();
+    private static final int PAGE_SIZE = 50;
+    private static final String SEARCH_DESCRIPTION_ERROR =
+            "Uh oh! You forgot to include a description to search for! Try Again!\n";
 
     static {
         commands.put("list", CommandProcessor::list);
@@ -39,6 +44,13 @@ public class CommandProcessor {
         commands.put("event", CommandProcessor::addEvent);
         commands.put("delete", CommandProcessor::delete);
         commands.put("find", CommandProcessor::find);
+        commands.put("find~", CommandProcessor::findApproximately);
+        commands.put("due", CommandProcessor::due);
+        commands.put("upcoming", CommandProcessor::upcoming);
+        commands.put("events", CommandProcessor::events);
+        commands.put("agenda", CommandProcessor::agenda);
+        commands.put("undo", CommandProcessor::undo);
+        commands.put("redo", CommandProcessor::redo);
 
         assert !commands.isEmpty() : "Command map should not be empty";
     }
@@ -48,20 +60,24 @@ public class CommandProcessor {
      * If the command is invalid, no changes are made and "Invalid Command" is seen in output.
      *
      * @param storage Storage object in which Task objects are stored.
-     * @param scanner Scanner used to read input from command line interface.
-     * @param command Command to be processed.
+     * @param undoLog History of changes made to the storage, which the command may record to or undo.
+     * @param command Command to be processed, as parsed by {@link CommandLexer}.
      * @return Returns a string to be shown in response to user input
      */
-    public static String processCommand(Storage<Task> storage, Scanner scanner, String command) {
+    public static String processCommand(Storage<Task> storage, UndoLog undoLog, ParsedCommand command) {
         assert storage != null : "Storage must not be null";
-        assert scanner != null : "Scanner must not be null";
+        assert undoLog != null : "Undo log must not be null";
+        assert command != null : "Command must not be null";
 
-        if (!isCommand(command)) {
+        if (!command.isValid()) {
+            return command.error();
+        }
+        if (!isCommand(command.name())) {
             return "Invalid Command!";
         }
 
-        Runnable cmd = commands.get(command);
-        String response = cmd.run(storage, scanner);
+        Runnable cmd = commands.get(command.name());
+        String response = cmd.run(storage, undoLog, command.arguments());
 
         return response;
     }
@@ -79,82 +95,139 @@ public class CommandProcessor {
     /**
      * Outputs to command line interface tasks in the storage in a numbered list.
      * If storage is empty, no output is produced.
+     * The list may be filtered by task type and completion status, keeping each task's number,
+     * or paged by giving the positions of the first and last tasks to show.
+     * Without a last position, a page of {@value #PAGE_SIZE} tasks is shown.
+     * <p>Input Format: {@code list [todo|deadline|event] [done|pending]} or {@code list <from> [to]}
      *
      * @param storage Storage object in which Task objects are stored.
-     * @param scanner Scanner used to read input from command line interface.
+     * @param undoLog History of changes made to the storage.
+     * @param arguments Text entered after the command.
      * @return Returns a string to be shown in response to user input
      */
-    private static String list(Storage<Task> storage, Scanner scanner) {
-        String response = "Here are the tasks in your list:\n";
-        response += storage.displayItems();
+    private static String list(Storage<Task> storage, UndoLog undoLog, String arguments) {
+        List<String> words = CommandLexer.words(arguments);
+        if (words.isEmpty()) {
+            return "Here are the tasks in your list:\n" + storage.displayItems();
+        }
+        if (words.size() <= 2 && words.stream().allMatch(CommandLexer::isNumber)) {
+            return listPage(storage, words);
+        }
 
-        return response;
+        Filter parsed = Filter.parse(words);
+        if (parsed == null) {
+            return "Uh oh! You did not filter your list correctly! "
+                    + "Try: list [todo|deadline|event] [done|pending]\n";
+        }
+
+        String items = storage.displayItems(parsed.symbol(), parsed.isCompleted());
+        return items.isEmpty()
+                ? "There are no matching tasks in your list.\n"
+                : "Here are the matching tasks in your list:\n" + items;
+    }
+
+    /**
+     * Returns the tasks from the first position to the last position given, and tells the user
+     * how to see the next page if there are more tasks after it.
+     */
+    private static String listPage(Storage<Task> storage, List<String> positions) {
+        PageRange page = ArgumentParser.page(positions, PAGE_SIZE);
+        if (!page.isValid()) {
+            return page.error();
+        }
+
+        int from = page.from();
+        int to = (int) Math.min(page.to(), storage.size());
+        if (from < 1 || from > to) {
+            return "There are no tasks at those positions! You have " + storage.size() + " tasks in the list.\n";
+        }
+
+        StringBuilder response = new StringBuilder("Here are tasks ").append(from).append(" to ").append(to)
+                .append(" of ").append(storage.size()).append(" in your list:\n");
+        try {
+            storage.displayItems(response, from, to);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (to < storage.size()) {
+            response.append("Type list ").append(to + 1).append(" to see the next page.\n");
+        }
+
+        return response.toString();
     }
 
     /**
      * Takes in input from command line interface and
-     * marks the task at the corresponding index from input.
-     * Subsequent input should be an integer denoting the index of the task
-     * in the storage object.
+     * marks the tasks at the corresponding indexes from input.
+     * Subsequent input should be the indexes of the tasks in the storage object,
+     * chosen as described in {@link ArgumentParser#selection(String)}.
+     * <p>Input Format: {@code mark <index>}, such as {@code mark 1,5,9-20} or {@code mark pending}
      *
      * @param storage Storage object in which Task objects are stored.
-     * @param scanner Scanner used to read input from command line interface.
+     * @param undoLog History of changes made to the storage.
+     * @param arguments Text entered after the command.
      * @return Returns a string to be shown in response to user input
      */
-    private static String mark(Storage<Task> storage, Scanner scanner) {
-        String response = "";
-
-        try {
-            int index = scanner.nextInt();
-            Task item = storage.getItem(index - 1);
-
-            item.setCompleted();
-            MemoryStorage.updateTaskCompletion(index - 1, true);
+    private static String mark(Storage<Task> storage, UndoLog undoLog, String arguments) {
+        Selection selection = ArgumentParser.selection(arguments);
+        Selection.Problem problem = selection.problemIn(storage.size());
+        if (problem != null) {
+            return switch (problem) {
+            case MISSING -> "Uh oh! You forgot to input an index! Try: mark <index>\n";
+            case MALFORMED -> "Invalid Input! Try: mark <index>, such as mark 3, mark 1,5,9-20 or mark pending\n";
+            case OUT_OF_BOUNDS -> "Invalid index! You can only mark tasks between 1 and " + storage.size() + ".\n";
+            };
+        }
 
-            response += "Nice! I've marked this task as done:\n";
-            response += item;
-        } catch (InputMismatchException e) {
-            response = "Invalid Input! Try: mark <index>\n";
-        } catch (IndexOutOfBoundsException e) {
-            response = "Invalid index! You can only mark tasks between 1 and " + storage.size() + ".\n";
-        } catch (NoSuchElementException e) {
-            response = "Uh oh! You forgot to input an index! Try: mark <index>\n";
+        int[] positions = selection.indexesIn(storage);
+        if (positions.length == 0) {
+            return "There are no matching tasks to mark.\n";
         }
 
-        return response;
+        boolean[] wasCompleted = completionOf(storage, positions);
+        List<Task> items = storage.updateItemsCompletion(positions, true);
+        saveCompletion(undoLog, items, wasCompleted, true);
+
+        return items.size() == 1
+                ? "Nice! I've marked this task as done:\n" + items.get(0)
+                : describeTasks("Nice! I've marked these " + items.size() + " tasks as done:\n", items);
     }
 
     /**
      * Takes in input from command line interface and
-     * marks the task at the corresponding index from input.
-     * Subsequent input should be an integer denoting the index of the task
-     * in the storage object.
+     * unmarks the tasks at the corresponding indexes from input.
+     * Subsequent input should be the indexes of the tasks in the storage object,
+     * chosen as described in {@link ArgumentParser#selection(String)}.
+     * <p>Input Format: {@code unmark <index>}, such as {@code unmark 1,5,9-20} or {@code unmark done}
      *
      * @param storage Storage object in which Task objects are stored.
-     * @param scanner Scanner used to read input from command line interface.
+     * @param undoLog History of changes made to the storage.
+     * @param arguments Text entered after the command.
      * @return Returns a string to be shown in response to user input
      */
-    private static String unmark(Storage<Task> storage, Scanner scanner) {
-        String response = "";
-
-        try {
-            int index = scanner.nextInt();
-            Task item = storage.getItem(index - 1);
-
-            item.setIncomplete();
-            MemoryStorage.updateTaskCompletion(index - 1, false);
+    private static String unmark(Storage<Task> storage, UndoLog undoLog, String arguments) {
+        Selection selection = ArgumentParser.selection(arguments);
+        Selection.Problem problem = selection.problemIn(storage.size());
+        if (problem != null) {
+            return switch (problem) {
+            case MISSING -> "Uh oh! You forgot to input an index! Try: unmark <index>\n";
+            case MALFORMED -> "Invalid Input! Try: unmark <index>, such as unmark 3, unmark 1,5,9-20 or unmark done\n";
+            case OUT_OF_BOUNDS -> "Invalid Index! You can only unmark tasks between 1 and " + storage.size() + ".\n";
+            };
+        }
 
-            response += "OK, I've marked this task as not done yet:\n";
-            response += item;
-        } catch (InputMismatchException e) {
-            response = "Invalid Input! Try: unmark <index>\n";
-        } catch (IndexOutOfBoundsException e) {
-            response = "Invalid Index! You can only unmark tasks between 1 and " + storage.size() + ".\n";
-        } catch (NoSuchElementException e) {
-            response = "Uh oh! You forgot to input an index! Try: unmark <index>\n";
+        int[] positions = selection.indexesIn(storage);
+        if (positions.length == 0) {
+            return "There are no matching tasks to unmark.\n";
         }
 
-        return response;
+        boolean[] wasCompleted = completionOf(storage, positions);
+        List<Task> items = storage.updateItemsCompletion(positions, false);
+        saveCompletion(undoLog, items, wasCompleted, false);
+
+        return items.size() == 1
+                ? "OK, I've marked this task as not done yet:\n" + items.get(0)
+                : describeTasks("OK, I've marked these " + items.size() + " tasks as not done yet:\n", items);
     }
 
     /**
@@ -163,28 +236,18 @@ public class CommandProcessor {
      * <p>Input Format: {@code todo <description>}
      *
      * @param storage Storage object in which Task objects are stored.
-     * @param scanner Scanner used to read input from command line interface.
+     * @param undoLog History of changes made to the storage.
+     * @param arguments Text entered after the command.
      * @return Returns a string to be shown in response to user input
      */
-    private static String addTodo(Storage<Task> storage, Scanner scanner) {
-        String response = "";
-
-        try {
-            String token = scanner.nextLine().trim();
-
-            if (token.isEmpty()) {
-                throw new ChatterBoxException(
-                    "Uh oh! You forgot to include a description for your todo task! Try again!"
-                );
-            }
-
-            Task newTask = new TodoTask(token);
-            response = addTask(storage, newTask);
-        } catch (ChatterBoxException e) {
-            response = e.getMessage();
+    private static String addTodo(Storage<Task> storage, UndoLog undoLog, String arguments) {
+        Description description = ArgumentParser.description(arguments,
+                "Uh oh! You forgot to include a description for your todo task! Try again!");
+        if (!description.isValid()) {
+            return description.error();
         }
 
-        return response;
+        return addTask(storage, undoLog, new TodoTask(description.text()));
     }
 
     /**
@@ -194,106 +257,86 @@ public class CommandProcessor {
      * LocalDateTime format should follow: dd-mm-yyyy HH:mm
      *
      * @param storage Storage object in which Task objects are stored.
-     * @param scanner Scanner used to read input from command line interface.
+     * @param undoLog History of changes made to the storage.
+     * @param arguments Text entered after the command.
      * @return Returns a string to be shown in response to user input
      */
-    private static String addDeadline(Storage<Task> storage, Scanner scanner) {
-        String response = "";
-
-        try {
-            String input = scanner.nextLine().trim();
-
-            if (input.isEmpty()) {
-                throw new ChatterBoxException(
-                    "Uh oh! You forgot to include a description for your deadline task! Try again!"
-                );
-            }
-
-            String[] tokens = parseInput(input, " /by ");
-
-            if (tokens.length != 2) {
-                throw new ChatterBoxException(
-                    "Uh oh! You did not input your deadline task correctly! Try: deadline <description> /by <deadline>"
-                );
-            }
-
-            Task newTask = new DeadlineTask(tokens[0], tokens[1]);
-            response = addTask(storage, newTask);
-        } catch (ChatterBoxException e) {
-            response = e.getMessage() + '\n';
-        } catch (DateTimeException e) {
-            response = "Oops! Your deadline format is incorrect! It should be \"dd-mm-yyyy HH:mm\". Try Again!\n";
+    private static String addDeadline(Storage<Task> storage, UndoLog undoLog, String arguments) {
+        Description description = ArgumentParser.deadline(arguments);
+        if (!description.isValid()) {
+            return description.error();
         }
 
-        return response;
+        return addTask(storage, undoLog, new DeadlineTask(description.text(), description.times().end(), false));
     }
 
     /**
      * Creates and adds a event Task object into the storage.
      * Description for the task object should be inputted after the 'event' command.
-     * <p>Input Format: {@code event <description> from: <time> to: <time>}
+     * <p>Input Format: {@code event <description> /from <time> /to <time>}
+     * Times should follow the format dd-mm-yyyy HH:mm.
      *
      * @param storage Storage object in which Task objects are stored.
-     * @param scanner Scanner used to read input from command line interface.
+     * @param undoLog History of changes made to the storage.
+     * @param arguments Text entered after the command.
      * @return Returns a string to be shown in response to user input
      */
-    private static String addEvent(Storage<Task> storage, Scanner scanner) {
-        String response = "";
-
-        try {
-            String input = scanner.nextLine().trim();
-
-            if (input.isEmpty()) {
-                throw new ChatterBoxException(
-                    "Uh oh! You forgot to include a description for your event task! Try again!"
-                );
-            }
-
-            String[] tokens = parseInput(input, " /from ", " /to ");
-
-            if (tokens.length != 3) {
-                throw new ChatterBoxException(
-                    "Uh oh! You did not input your event task correctly!"
-                    + "Try: event <description> /from <time> /to <time>"
-                );
-            }
-
-            Task newTask = new EventTask(tokens[0], tokens[1], tokens[2]);
-            response = addTask(storage, newTask);
-        } catch (ChatterBoxException e) {
-            response = e.getMessage() + '\n';
+    private static String addEvent(Storage<Task> storage, UndoLog undoLog, String arguments) {
+        Description description = ArgumentParser.event(arguments);
+        if (!description.isValid()) {
+            return description.error();
         }
 
-        return response;
+        TimeRange times = description.times();
+        return addTask(storage, undoLog, new EventTask(description.text(), times.start(), times.end(), false));
     }
 
     /**
-     * Deletes a task from the storage
-     * The task deleted corresponds to the index inputted after the 'delete' command.
-     * <p>Input Format: {@code delete <index>}
+     * Deletes tasks from the storage
+     * The tasks deleted correspond to the indexes inputted after the 'delete' command,
+     * chosen as described in {@link ArgumentParser#selection(String)}.
+     * <p>Input Format: {@code delete <index>}, such as {@code delete 3-400} or {@code delete done}
      *
      * @param storage Storage object in which Task objects are stored.
-     * @param scanner Scanner used to read input from command line interface.
+     * @param undoLog History of changes made to the storage.
+     * @param arguments Text entered after the command.
      * @return Returns a string to be shown in response to user input
      */
-    private static String delete(Storage<Task> storage, Scanner scanner) {
-        String response = "";
+    private static String delete(Storage<Task> storage, UndoLog undoLog, String arguments) {
+        Selection selection = ArgumentParser.selection(arguments);
+        Selection.Problem problem = selection.problemIn(storage.size());
+        if (problem != null) {
+            return switch (problem) {
+            case MISSING -> "Uh oh! You forgot to input an index! Try: delete <index>\n";
+            case MALFORMED -> "Invalid Input! Try: delete <index>, such as delete 3, delete 3-400 or delete done\n";
+            case OUT_OF_BOUNDS -> "Invalid index! You can only delete tasks between 1 and " + storage.size() + ".\n";
+            };
+        }
 
+        int[] positions = selection.indexesIn(storage);
+        if (positions.length == 0) {
+            return "There are no matching tasks to delete.\n";
+        }
+
+        List<Task> deleted = storage.removeItems(positions);
+        MemoryStorage.beginBatch();
         try {
-            int index = scanner.nextInt();
-            Task deleted = storage.removeItem(index - 1);
-            MemoryStorage.deleteTask(index - 1);
+            for (Task task : deleted) {
+                MemoryStorage.deleteTask(task.getId());
+            }
+        } finally {
+            MemoryStorage.endBatch();
+        }
+        undoLog.recordDelete(deleted);
 
+        String response = "";
+        if (deleted.size() == 1) {
             response += ("Noted. I've removed this task:\n");
-            response += deleted + "\n";
-            response += "Now you have " + storage.size() + " tasks in the list.\n";
-        } catch (InputMismatchException e) {
-            response = "Invalid Input! Try: delete <index>\n";
-        } catch (IndexOutOfBoundsException e) {
-            response = "Invalid index! You can only delete tasks between 1 and " + storage.size() + ".\n";
-        } catch (NoSuchElementException e) {
-            response = "Uh oh! You forgot to input an index! Try: delete <index>\n";
+            response += deleted.get(0) + "\n";
+        } else {
+            response = describeTasks("Noted. I've removed these " + deleted.size() + " tasks:\n", deleted);
         }
+        response += "Now you have " + storage.size() + " tasks in the list.\n";
 
         return response;
     }
@@ -304,17 +347,17 @@ public class CommandProcessor {
      * <p> Input Format: {@code find <description>}
      *
      * @param storage Storage object in which Task objects are stored.
-     * @param scanner Scanner used to read input from the command line interface.
+     * @param undoLog History of changes made to the storage.
+     * @param arguments Text entered after the command.
      * @return Returns a string to be shown in response to user input
      */
-    private static String find(Storage<Task> storage, Scanner scanner) {
-        String input = scanner.nextLine().trim();
-
-        if (input.isEmpty()) {
-            return "Uh oh! You forgot to include a description to search for! Try Again!\n";
+    private static String find(Storage<Task> storage, UndoLog undoLog, String arguments) {
+        Description description = ArgumentParser.description(arguments, SEARCH_DESCRIPTION_ERROR);
+        if (!description.isValid()) {
+            return description.error();
         }
 
-        ArrayList<Task> tasks = storage.searchTasksByDescription(input);
+        ArrayList<Task> tasks = storage.searchTasksByDescription(description.text());
 
         if (tasks.isEmpty()) {
             return "There are no items in your list with that description.\n";
@@ -331,39 +374,216 @@ public class CommandProcessor {
     }
 
     /**
-     * Returns a String[] that contains the parsed input based on the delimiters given.
-     * Multiple delimiters can be used to parse an input.
+     * Finds tasks with words close to the words given, allowing one typo in words of up to
+     * four characters and two typos in longer words. Case is ignored.
+     * <p>Input Format: {@code find~ <term>}
      *
-     * @param input String to be parsed
-     * @param delimiters One or more delimiters to be used to parse the input
-     * @return String[] containing the tokens of the input
-     * @throws ChatterBoxException If delimiter does not exist within the input string
+     * @param storage Storage object in which Task objects are stored.
+     * @param undoLog History of changes made to the storage.
+     * @param arguments Text entered after the command.
+     * @return Returns a string to be shown in response to user input
      */
-    private static String[] parseInput(String input, String... delimiters) throws ChatterBoxException {
-        String[] parts = new String[delimiters.length + 1];
-        int lastIndex = 0;
-        for (int i = 0; i < delimiters.length; ++i) {
-            int idx = input.indexOf(delimiters[i], lastIndex);
-            if (idx == -1) {
-                throw new ChatterBoxException("Uh oh! You forgot to include the delimiter: " + delimiters[i]);
+    private static String findApproximately(Storage<Task> storage, UndoLog undoLog, String arguments) {
+        Description description = ArgumentParser.description(arguments, SEARCH_DESCRIPTION_ERROR);
+        if (!description.isValid()) {
+            return description.error();
+        }
+
+        ArrayList<Task> tasks = storage.searchTasksApproximately(description.text());
+
+        return tasks.isEmpty()
+                ? "There are no items in your list close to that description.\n"
+                : formatTasks("Here are the tasks in your list that closely match:\n", tasks);
+    }
+
+    /**
+     * Lists the deadline tasks due within a period, earliest deadline first.
+     * Times should follow the format dd-mm-yyyy HH:mm.
+     * <p>Input Format: {@code due before <time>} or {@code due between <time> and <time>}
+     *
+     * @param storage Storage object in which Task objects are stored.
+     * @param undoLog History of changes made to the storage.
+     * @param arguments Text entered after the command.
+     * @return Returns a string to be shown in response to user input
+     */
+    private static String due(Storage<Task> storage, UndoLog undoLog, String arguments) {
+        TimeRange period = ArgumentParser.due(arguments);
+        if (!period.isValid()) {
+            return period.error();
+        }
+
+        ArrayList<Task> tasks = period.start() == null
+                ? storage.searchTasksDueBefore(period.end())
+                : storage.searchTasksDueBetween(period.start(), period.end());
+        return tasks.isEmpty()
+                ? "There are no deadlines due in that period.\n"
+                : formatTasks("Here are the deadlines due in that period:\n", tasks);
+    }
+
+    /**
+     * Lists the pending deadline tasks that are due next, nearest deadline first.
+     * Subsequent input should be a positive integer denoting how many tasks to list.
+     * <p>Input Format: {@code upcoming <k>}
+     *
+     * @param storage Storage object in which Task objects are stored.
+     * @param undoLog History of changes made to the storage.
+     * @param arguments Text entered after the command.
+     * @return Returns a string to be shown in response to user input
+     */
+    private static String upcoming(Storage<Task> storage, UndoLog undoLog, String arguments) {
+        int count = CommandLexer.isNumber(arguments) && arguments.length() <= 9 ? Integer.parseInt(arguments) : 0;
+        if (count < 1) {
+            return "Uh oh! Tell me how many deadlines to show as a positive number! Try: upcoming <k>\n";
+        }
+
+        ArrayList<Task> tasks = storage.searchUpcomingDeadlines(LocalDateTime.now(), count);
+        return tasks.isEmpty()
+                ? "You have no upcoming deadlines.\n"
+                : formatTasks("Here are your nearest upcoming deadlines:\n", tasks);
+    }
+
+    /**
+     * Lists the events that are on at any time within a period, earliest start first.
+     * Times should follow the format dd-mm-yyyy HH:mm.
+     * <p>Input Format: {@code events between <time> and <time>}
+     *
+     * @param storage Storage object in which Task objects are stored.
+     * @param undoLog History of changes made to the storage.
+     * @param arguments Text entered after the command.
+     * @return Returns a string to be shown in response to user input
+     */
+    private static String events(Storage<Task> storage, UndoLog undoLog, String arguments) {
+        TimeRange period = ArgumentParser.events(arguments);
+        if (!period.isValid()) {
+            return period.error();
+        }
+
+        ArrayList<Task> tasks = storage.searchEventsOverlapping(period.start(), period.end());
+        return tasks.isEmpty()
+                ? "There are no events in that period.\n"
+                : formatTasks("Here are the events in that period:\n", tasks);
+    }
+
+    /**
+     * Lists the events that are on at any time during a day, earliest start first.
+     * The day should follow the format dd-mm-yyyy.
+     * <p>Input Format: {@code agenda <day>}
+     *
+     * @param storage Storage object in which Task objects are stored.
+     * @param undoLog History of changes made to the storage.
+     * @param arguments Text entered after the command.
+     * @return Returns a string to be shown in response to user input
+     */
+    private static String agenda(Storage<Task> storage, UndoLog undoLog, String arguments) {
+        Day day = ArgumentParser.day(arguments);
+        if (!day.isValid()) {
+            return day.error();
+        }
+
+        ArrayList<Task> tasks = storage.searchEventsOnDay(day.date());
+        return tasks.isEmpty()
+                ? "There are no events on that day.\n"
+                : formatTasks("Here is your agenda for that day:\n", tasks);
+    }
+
+    /**
+     * Reverts the most recent change made by adding, marking, unmarking or deleting tasks that
+     * has not been undone yet. Deleted tasks are put back at the positions they were deleted from.
+     * <p>Input Format: {@code undo}
+     *
+     * @param storage Storage object in which Task objects are stored.
+     * @param undoLog History of changes made to the storage.
+     * @param arguments Text entered after the command.
+     * @return Returns a string to be shown in response to user input
+     */
+    private static String undo(Storage<Task> storage, UndoLog undoLog, String arguments) {
+        if (!arguments.isEmpty()) {
+            return "Uh oh! Undo one change at a time! Try: undo\n";
+        }
+
+        return undoLog.undo(storage);
+    }
+
+    /**
+     * Makes the most recently undone change again. Changes can no longer be redone once
+     * another change is made.
+     * <p>Input Format: {@code redo}
+     *
+     * @param storage Storage object in which Task objects are stored.
+     * @param undoLog History of changes made to the storage.
+     * @param arguments Text entered after the command.
+     * @return Returns a string to be shown in response to user input
+     */
+    private static String redo(Storage<Task> storage, UndoLog undoLog, String arguments) {
+        if (!arguments.isEmpty()) {
+            return "Uh oh! Redo one change at a time! Try: redo\n";
+        }
+
+        return undoLog.redo(storage);
+    }
+
+    /**
+     * Returns the completion status of the tasks at the given indexes.
+     */
+    private static boolean[] completionOf(Storage<Task> storage, int[] positions) {
+        boolean[] isCompleted = new boolean[positions.length];
+        for (int i = 0; i < positions.length; ++i) {
+            isCompleted[i] = storage.getItem(positions[i]).isCompleted();
+        }
+        return isCompleted;
+    }
+
+    /**
+     * Saves the completion status of every task in one write, and records the change so that
+     * it can be undone.
+     */
+    private static void saveCompletion(UndoLog undoLog, List<Task> tasks, boolean[] wasCompleted,
+            boolean isCompleted) {
+        MemoryStorage.beginBatch();
+        try {
+            for (Task task : tasks) {
+                MemoryStorage.updateTaskCompletion(task.getId(), isCompleted);
             }
+        } finally {
+            MemoryStorage.endBatch();
+        }
+
+        undoLog.recordCompletion(tasks, wasCompleted, isCompleted);
+    }
+
+    /**
+     * Returns the header followed by one task on each line.
+     */
+    private static String describeTasks(String header, List<Task> tasks) {
+        StringBuilder response = new StringBuilder(header);
+        for (Task task : tasks) {
+            response.append(task).append('\n');
+        }
+
+        return response.toString();
+    }
 
-            parts[i] = input.substring(lastIndex, idx).trim();
-            lastIndex = idx + delimiters[i].length();
+    /**
+     * Returns the header followed by the tasks numbered from 1, in the same layout as {@code find}.
+     */
+    private static String formatTasks(String header, ArrayList<Task> tasks) {
+        StringBuilder response = new StringBuilder(header);
+        for (int index = 1; index <= tasks.size(); ++index) {
+            response.append(index).append('.').append(tasks.get(index - 1)).append('\n');
         }
-        parts[delimiters.length] = input.substring(lastIndex).trim();
 
-        return parts;
+        return response.append('\n').toString();
     }
 
     /**
      * Adds the given task into the storage object.
      *
      * @param storage Storage object in which Task objects are stored in.
+     * @param undoLog History of changes made to the storage, to which the addition is recorded.
      * @param task Task object that is to be stored in the storage object.
      * @return Returns a string to be shown in response to user input
      */
-    private static String addTask(Storage<Task> storage, Task task) {
+    private static String addTask(Storage<Task> storage, UndoLog undoLog, Task task) {
         String response = "";
 
         if (storage.hasDuplicateTask(task)) {
@@ -373,6 +593,7 @@ public class CommandProcessor {
 
         storage.addItem(task);
         MemoryStorage.saveTask(task);
+        undoLog.recordAdd(task);
 
         response += "Got it. I've added this task:\n";
         response += task + "\n";
@@ -380,4 +601,5 @@ public class CommandProcessor {
 
         return response;
     }
+
 }
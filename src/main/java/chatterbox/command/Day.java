@@ -0,0 +1,19 @@
+package chatterbox.command;
+
+import java.time.LocalDate;
+
+/**
+ * The day given to a command such as {@code agenda}, as parsed by {@link ArgumentParser}.
+ *
+ * @param date Date of the day
+ * @param error Response telling the user why the day could not be parsed, or null if it was parsed
+ */
+record Day(LocalDate date, String error) {
+    static Day failure(String error) {
+        return new Day(null, error);
+    }
+
+    boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,19 @@
+package chatterbox.command;
+
+/**
+ * The description given to a command that adds or searches for tasks, along with the times
+ * given for it, as parsed by {@link ArgumentParser}.
+ *
+ * @param text Description without surrounding whitespace
+ * @param times Times given after the description, or null if the command takes none
+ * @param error Response telling the user why the arguments could not be parsed, or null if they were parsed
+ */
+record Description(String text, TimeRange times, String error) {
+    static Description failure(String error) {
+        return new Description(null, null, error);
+    }
+
+    boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,34 @@
+package chatterbox.command;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Task type and completion status chosen by filter words such as {@code deadline pending}.
+ * A null component matches every task.
+ *
+ * @param symbol Symbol of the chosen task type, such as {@code 'D'}
+ * @param isCompleted Chosen completion status
+ */
+record Filter(Character symbol, Boolean isCompleted) {
+    private static final Map<String, Character> TASK_SYMBOLS = Map.of("todo", 'T', "deadline", 'D', "event", 'E');
+
+    /**
+     * Returns the filter given by the words, or null if they are not of the form
+     * {@code [todo|deadline|event] [done|pending]}.
+     */
+    static Filter parse(List<String> words) {
+        Character symbol = null;
+        Boolean isCompleted = null;
+        for (String word : words) {
+            if (symbol == null && TASK_SYMBOLS.containsKey(word)) {
+                symbol = TASK_SYMBOLS.get(word);
+            } else if (isCompleted == null && (word.equals("done") || word.equals("pending"))) {
+                isCompleted = word.equals("done");
+            } else {
+                return null;
+            }
+        }
+        return new Filter(symbol, isCompleted);
+    }
+}
@@ -0,0 +1,19 @@
+package chatterbox.command;
+
+/**
+ * The positions of the first and last tasks to show on a page of the list, as parsed by
+ * {@link ArgumentParser}. The last position may run past the end of the list.
+ *
+ * @param from Position of the first task, counted from 1
+ * @param to Position of the last task
+ * @param error Response telling the user why the positions could not be parsed, or null if they were parsed
+ */
+record PageRange(int from, long to, String error) {
+    static PageRange failure(String error) {
+        return new PageRange(0, 0, error);
+    }
+
+    boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,31 @@
+package chatterbox.command;
+
+/**
+ * A line of user input, split into the name of a command and the arguments that follow it.
+ *
+ * <p>Lines that cannot be split, such as blank lines, carry an {@code error} message to show
+ * instead, and have no name or arguments.
+ *
+ * @param name Name of the command, such as {@code todo}
+ * @param arguments Text after the name without surrounding whitespace, which may be empty
+ * @param error Message telling the user why the line could not be parsed, or null if it was parsed
+ */
+public record ParsedCommand(String name, String arguments, String error) {
+    /**
+     * Returns a parsed command with the given name and arguments.
+     */
+    public static ParsedCommand of(String name, String arguments) {
+        return new ParsedCommand(name, arguments, null);
+    }
+
+    /**
+     * Returns a line that could not be parsed, with the message to show the user.
+     */
+    public static ParsedCommand failure(String error) {
+        return new ParsedCommand(null, "", error);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
@@ -1,20 +1,19 @@
 package chatterbox.command;
 
-import java.util.Scanner;
-
 import chatterbox.memory.Storage;
 import chatterbox.task.Task;
 
 /**
  * Represents a command that can be executed within the Chatterbox application.
  *
- * <p>A {@code Runnable} defines a single operation that processes user input
- * from a {@link Scanner} and may manipulate a {@link Storage} of {@link Task}
- * objects. Implementing classes encapsulate specific commands recognized by
+ * <p>A {@code Runnable} defines a single operation that processes the arguments
+ * given after the name of the command, as split by {@link CommandLexer}, and may manipulate
+ * a {@link Storage} of {@link Task} objects, recording its changes in an {@link UndoLog}.
+ * Implementing classes encapsulate specific commands recognized by
  * {@link chatterbox.command.CommandProcessor}.
  *
  * <p>A {@code Runnable} will return a String as a response.
  */
 public interface Runnable {
-    String run(Storage<Task> s, Scanner sc);
+    String run(Storage<Task> s, UndoLog undoLog, String arguments);
 }
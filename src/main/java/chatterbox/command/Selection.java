@@ -0,0 +1,69 @@
+package chatterbox.command;
+
+import java.util.BitSet;
+
+import chatterbox.memory.Storage;
+import chatterbox.task.Task;
+
+/**
+ * The tasks that a command such as {@code mark} applies to, as parsed by {@link ArgumentParser}.
+ *
+ * <p>Tasks are chosen either by a {@code filter}, or by {@code ranges} of positions in the list
+ * as shown by {@code list}, before any task is changed. Selections that could not be parsed carry
+ * the {@code problem} found instead.
+ *
+ * @param filter Filter that chooses the tasks, or null if they are chosen by position
+ * @param ranges First and last positions of each range in turn, counted from 1, or null if a filter is used
+ * @param problem Why the selection could not be parsed, or null if it was parsed
+ */
+record Selection(Filter filter, int[] ranges, Problem problem) {
+    /**
+     * Reasons why a selection cannot be used.
+     */
+    enum Problem {
+        /** No tasks were given. */
+        MISSING,
+        /** The tasks were not given as positions or filter words. */
+        MALFORMED,
+        /** A position is not in the list. */
+        OUT_OF_BOUNDS
+    }
+
+    static Selection failure(Problem problem) {
+        return new Selection(null, null, problem);
+    }
+
+    /**
+     * Returns why the selection cannot be used on a list of the given size, or null if it can.
+     */
+    Problem problemIn(int size) {
+        if (problem != null || filter != null) {
+            return problem;
+        }
+
+        for (int i = 1; i < ranges.length; i += 2) {
+            if (ranges[i] > size) {
+                return Problem.OUT_OF_BOUNDS;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the indexes of the chosen tasks in increasing order. The selection must have no
+     * problem in the storage, as checked by {@link #problemIn(int)}.
+     */
+    int[] indexesIn(Storage<Task> storage) {
+        assert problemIn(storage.size()) == null : "Selection must fit the storage";
+
+        if (filter != null) {
+            return storage.findIndexes(filter.symbol(), filter.isCompleted());
+        }
+
+        BitSet positions = new BitSet();
+        for (int i = 0; i < ranges.length; i += 2) {
+            positions.set(ranges[i] - 1, ranges[i + 1]);
+        }
+        return positions.stream().toArray();
+    }
+}
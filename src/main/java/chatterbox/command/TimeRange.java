@@ -0,0 +1,21 @@
+package chatterbox.command;
+
+import java.time.LocalDateTime;
+
+/**
+ * The period given to a command, as parsed by {@link ArgumentParser}. A period without a start
+ * is open-ended, such as the one given to {@code due before} or the deadline of a task.
+ *
+ * @param start Start of the period, or null if it has none
+ * @param end End of the period
+ * @param error Response telling the user why the period could not be parsed, or null if it was parsed
+ */
+record TimeRange(LocalDateTime start, LocalDateTime end, String error) {
+    static TimeRange failure(String error) {
+        return new TimeRange(null, null, error);
+    }
+
+    boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,302 @@
+package chatterbox.command;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import chatterbox.memory.MemoryStorage;
+import chatterbox.memory.Storage;
+import chatterbox.task.Task;
+
+/**
+ * A bounded history of the changes made by commands, kept so that they can be undone and redone.
+ *
+ * <p>Each change records what is needed to apply its inverse: copies of the tasks a command added
+ * or deleted, or the IDs and previous completion statuses of the tasks it marked. Copies are
+ * taken when the change is recorded, and copied again whenever they are put back, so tasks in
+ * the storage never share state with the log. Tasks are found
+ * again by their ID rather than their position, as positions shift when other tasks are added
+ * and deleted, and a deleted task is put back under its old ID. Undoing or redoing a change only
+ * touches the tasks it names, and writes them to memory as ordinary changes in one batch,
+ * so the save file is never reloaded.
+ *
+ * <p>The log holds at most {@code capacity} tasks across all of its changes. The capacity counts
+ * tasks, not bytes: a task that was added or deleted is held as a full copy, whose size grows with
+ * its description, while a task that was marked is held as its ID and status. Once it is full,
+ * the oldest changes are forgotten first. A change too large to fit clears the log instead,
+ * since the changes before it could no longer be undone in order. Recording a new change
+ * forgets every change that was undone, as they cannot be redone on top of it.
+ *
+ * <p>Each log belongs to the one storage whose changes it records, and is kept by whoever owns
+ * that storage, so that undoing a change never touches another storage.
+ */
+public class UndoLog {
+    static final int DEFAULT_CAPACITY = 10_000;
+
+    private final int capacity;
+    private final Deque<Change> undoable = new ArrayDeque<>();
+    private final Deque<Change> redoable = new ArrayDeque<>();
+    private int size;
+
+    /**
+     * Creates an empty log that holds at most as many tasks as the {@code chatterbox.undo.capacity}
+     * system property, or {@value #DEFAULT_CAPACITY} tasks if it is not set.
+     */
+    public UndoLog() {
+        this(Integer.getInteger("chatterbox.undo.capacity", DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Creates an empty log that holds at most the given number of tasks.
+     *
+     * @param capacity Maximum number of tasks held across every change, or 0 to record nothing
+     */
+    UndoLog(int capacity) {
+        this.capacity = Math.max(capacity, 0);
+    }
+
+    /**
+     * Records that the task was added. Undoing it deletes the task again.
+     */
+    void recordAdd(Task task) {
+        record(new Addition(List.of(task.copy()), false));
+    }
+
+    /**
+     * Records that the tasks were deleted. Undoing it adds them back under their old IDs.
+     */
+    void recordDelete(List<Task> tasks) {
+        record(new Addition(tasks.stream().map(Task::copy).toList(), true));
+    }
+
+    /**
+     * Records that the completion status of the tasks was set.
+     *
+     * @param tasks Tasks after their status was set
+     * @param wasCompleted Completion status of each task before it was set
+     * @param isCompleted Completion status the tasks were set to
+     */
+    void recordCompletion(List<Task> tasks, boolean[] wasCompleted, boolean isCompleted) {
+        long[] ids = tasks.stream().mapToLong(Task::getId).toArray();
+        record(new Completion(ids, wasCompleted.clone(), isCompleted));
+    }
+
+    /**
+     * Reverts the most recent change that has not been undone.
+     *
+     * @param storage Storage object in which Task objects are stored.
+     * @return Returns a string to be shown in response to user input
+     */
+    String undo(Storage<Task> storage) {
+        Change change = undoable.pollLast();
+        if (change == null) {
+            return "There is nothing to undo!\n";
+        }
+
+        List<Task> tasks = apply(storage, change, true);
+        redoable.addLast(change);
+        return describe("OK, I've undone " + change.describe() + ":\n", tasks, storage);
+    }
+
+    /**
+     * Makes the most recently undone change again.
+     *
+     * @param storage Storage object in which Task objects are stored.
+     * @return Returns a string to be shown in response to user input
+     */
+    String redo(Storage<Task> storage) {
+        Change change = redoable.pollLast();
+        if (change == null) {
+            return "There is nothing to redo!\n";
+        }
+
+        List<Task> tasks = apply(storage, change, false);
+        undoable.addLast(change);
+        return describe("OK, I've redone " + change.describe() + ":\n", tasks, storage);
+    }
+
+    private void record(Change change) {
+        for (Change forgotten : redoable) {
+            size -= forgotten.size();
+        }
+        redoable.clear();
+
+        if (change.size() > capacity) {
+            undoable.clear();
+            size = 0;
+            return;
+        }
+
+        undoable.addLast(change);
+        size += change.size();
+        while (size > capacity) {
+            size -= undoable.pollFirst().size();
+        }
+    }
+
+    private static List<Task> apply(Storage<Task> storage, Change change, boolean isUndo) {
+        MemoryStorage.beginBatch();
+        try {
+            return isUndo ? change.undo(storage) : change.redo(storage);
+        } finally {
+            MemoryStorage.endBatch();
+        }
+    }
+
+    private static String describe(String header, List<Task> tasks, Storage<Task> storage) {
+        StringBuilder response = new StringBuilder(header);
+        for (Task task : tasks) {
+            response.append(task).append('\n');
+        }
+
+        return response.append("Now you have ").append(storage.size()).append(" tasks in the list.\n").toString();
+    }
+
+    /**
+     * A change made by one command, which can be reverted and then made again.
+     */
+    private interface Change {
+        /**
+         * Reverts the change, returning the tasks it affected.
+         */
+        List<Task> undo(Storage<Task> storage);
+
+        /**
+         * Makes the change again, returning the tasks it affected.
+         */
+        List<Task> redo(Storage<Task> storage);
+
+        /**
+         * Returns the number of tasks the change holds.
+         */
+        int size();
+
+        /**
+         * Returns what the command did, such as {@code adding this task}.
+         */
+        String describe();
+    }
+
+    /**
+     * Copies of tasks that were added, or deleted if {@code isDeletion} is set.
+     */
+    private static final class Addition implements Change {
+        private final List<Task> tasks;
+        private final boolean isDeletion;
+
+        private Addition(List<Task> tasks, boolean isDeletion) {
+            this.tasks = tasks;
+            this.isDeletion = isDeletion;
+        }
+
+        @Override
+        public List<Task> undo(Storage<Task> storage) {
+            return isDeletion ? restore(storage) : remove(storage);
+        }
+
+        @Override
+        public List<Task> redo(Storage<Task> storage) {
+            return isDeletion ? remove(storage) : restore(storage);
+        }
+
+        @Override
+        public int size() {
+            return tasks.size();
+        }
+
+        @Override
+        public String describe() {
+            String verb = isDeletion ? "deleting" : "adding";
+            return tasks.size() == 1 ? verb + " this task" : verb + " these " + tasks.size() + " tasks";
+        }
+
+        /**
+         * Adds copies of the tasks back under their IDs, which places each one where it was.
+         */
+        private List<Task> restore(Storage<Task> storage) {
+            List<Task> restored = new ArrayList<>(tasks.size());
+            for (Task snapshot : tasks) {
+                if (storage.indexOfId(snapshot.getId()) < 0) {
+                    Task task = snapshot.copy();
+                    storage.addItem(task);
+                    MemoryStorage.saveTask(task);
+                    restored.add(task);
+                }
+            }
+            return restored;
+        }
+
+        private List<Task> remove(Storage<Task> storage) {
+            int[] positions = new int[tasks.size()];
+            int length = 0;
+            for (Task task : tasks) {
+                int index = storage.indexOfId(task.getId());
+                if (index >= 0) {
+                    positions[length++] = index;
+                }
+            }
+
+            positions = Arrays.copyOf(positions, length);
+            Arrays.sort(positions);
+            List<Task> removed = storage.removeItems(positions);
+            for (Task task : removed) {
+                MemoryStorage.deleteTask(task.getId());
+            }
+            return removed;
+        }
+    }
+
+    /**
+     * Tasks whose completion status was set, along with the status each one had before.
+     */
+    private static final class Completion implements Change {
+        private final long[] ids;
+        private final boolean[] wasCompleted;
+        private final boolean isCompleted;
+
+        private Completion(long[] ids, boolean[] wasCompleted, boolean isCompleted) {
+            this.ids = ids;
+            this.wasCompleted = wasCompleted;
+            this.isCompleted = isCompleted;
+        }
+
+        @Override
+        public List<Task> undo(Storage<Task> storage) {
+            List<Task> updated = new ArrayList<>(ids.length);
+            for (int i = 0; i < ids.length; ++i) {
+                update(storage, ids[i], wasCompleted[i], updated);
+            }
+            return updated;
+        }
+
+        @Override
+        public List<Task> redo(Storage<Task> storage) {
+            List<Task> updated = new ArrayList<>(ids.length);
+            for (long id : ids) {
+                update(storage, id, isCompleted, updated);
+            }
+            return updated;
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+
+        @Override
+        public String describe() {
+            String verb = isCompleted ? "marking" : "unmarking";
+            return ids.length == 1 ? verb + " this task" : verb + " these " + ids.length + " tasks";
+        }
+
+        private static void update(Storage<Task> storage, long id, boolean isCompleted, List<Task> updated) {
+            int index = storage.indexOfId(id);
+            if (index >= 0) {
+                updated.add(storage.updateItemCompletion(index, isCompleted));
+                MemoryStorage.updateTaskCompletion(id, isCompleted);
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package chatterbox.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A BK-tree of words under the Levenshtein edit distance.
+ *
+ * <p>Every child of a node is filed under its distance from that node. By the triangle
+ * inequality, a word within distance {@code d} of a query can only sit under children whose
+ * distance is within {@code d} of the query's distance from their parent, so a search visits a
+ * small part of the tree instead of measuring the query against every word.
+ *
+ * <p>Removed words stay in the tree as tombstones, as the tree cannot lose a node without
+ * refiling its subtree. The tree is rebuilt from its live words once tombstones outnumber them.
+ */
+class BKTree {
+    private Node root;
+    private int liveCount;
+    private int deadCount;
+
+    /**
+     * Adds the word, or revives it if it was removed.
+     */
+    void add(String word) {
+        if (root == null) {
+            root = new Node(word);
+            ++liveCount;
+            return;
+        }
+
+        Node node = root;
+        while (true) {
+            int distance = distance(word, node.word, Integer.MAX_VALUE);
+            if (distance == 0) {
+                if (node.isDeleted) {
+                    node.isDeleted = false;
+                    ++liveCount;
+                    --deadCount;
+                }
+                return;
+            }
+
+            Node child = node.childAt(distance);
+            if (child == null) {
+                node.setChild(distance, new Node(word));
+                ++liveCount;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Removes the word if it is in the tree.
+     */
+    void remove(String word) {
+        Node node = root;
+        while (node != null) {
+            int distance = distance(word, node.word, Integer.MAX_VALUE);
+            if (distance == 0) {
+                if (!node.isDeleted) {
+                    node.isDeleted = true;
+                    --liveCount;
+                    ++deadCount;
+                }
+                break;
+            }
+            node = node.childAt(distance);
+        }
+
+        if (deadCount > liveCount) {
+            rebuild();
+        }
+    }
+
+    void clear() {
+        root = null;
+        liveCount = 0;
+        deadCount = 0;
+    }
+
+    /**
+     * Returns the words within {@code maxDistance} edits of the query.
+     * A node's distance is only worked out in full if it could lead to one of its children.
+     */
+    List<String> search(String query, int maxDistance) {
+        Pattern pattern = new Pattern(query);
+        List<String> matches = new ArrayList<>();
+        Deque<Node> pending = new ArrayDeque<>();
+        if (root != null) {
+            pending.push(root);
+        }
+
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = pattern.distanceTo(node.word, Math.max(node.children.length - 1, 0) + maxDistance);
+            if (distance <= maxDistance && !node.isDeleted) {
+                matches.add(node.word);
+            }
+
+            int last = Math.min(distance + maxDistance, node.children.length - 1);
+            for (int i = Math.max(1, distance - maxDistance); i <= last; ++i) {
+                if (node.children[i] != null) {
+                    pending.push(node.children[i]);
+                }
+            }
+        }
+
+        return matches;
+    }
+
+    /**
+     * Returns the Levenshtein distance between the two words, or any value above {@code limit}
+     * once the distance is known to exceed it.
+     */
+    static int distance(String first, String second, int limit) {
+        if (Math.abs(first.length() - second.length()) > limit) {
+            return limit + 1;
+        }
+
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); ++j) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= first.length(); ++i) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= second.length(); ++j) {
+                int substitution = previous[j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > limit) {
+                return limit + 1;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[second.length()];
+    }
+
+    private void rebuild() {
+        List<String> live = new ArrayList<>();
+        Deque<Node> pending = new ArrayDeque<>();
+        if (root != null) {
+            pending.push(root);
+        }
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            if (!node.isDeleted) {
+                live.add(node.word);
+            }
+            for (Node child : node.children) {
+                if (child != null) {
+                    pending.push(child);
+                }
+            }
+        }
+
+        clear();
+        live.forEach(this::add);
+    }
+
+    /**
+     * A query prepared for Myers' bit-parallel edit distance, which works out a whole column of
+     * the distance table in a few operations on a {@code long}, so that comparing the query
+     * against a word costs one step per character of the word. Queries longer than 64 characters
+     * fall back to {@link #distance(String, String, int)}.
+     */
+    private static class Pattern {
+        private static final int ASCII = 128;
+
+        private final String query;
+        private final long[] asciiMasks = new long[ASCII];
+
+        private Pattern(String query) {
+            this.query = query;
+            for (int i = 0; i < Math.min(query.length(), Long.SIZE); ++i) {
+                if (query.charAt(i) < ASCII) {
+                    asciiMasks[query.charAt(i)] |= 1L << i;
+                }
+            }
+        }
+
+        private int distanceTo(String word, int limit) {
+            int length = query.length();
+            if (length == 0 || length > Long.SIZE) {
+                return distance(query, word, limit);
+            }
+            if (Math.abs(length - word.length()) > limit) {
+                return limit + 1;
+            }
+
+            long last = 1L << (length - 1);
+            long positive = -1L;
+            long negative = 0;
+            int score = length;
+
+            for (int j = 0; j < word.length(); ++j) {
+                long equal = maskOf(word.charAt(j));
+                long vertical = equal | negative;
+                long horizontal = (((equal & positive) + positive) ^ positive) | equal;
+                long horizontalPositive = negative | ~(horizontal | positive);
+                long horizontalNegative = positive & horizontal;
+
+                if ((horizontalPositive & last) != 0) {
+                    ++score;
+                } else if ((horizontalNegative & last) != 0) {
+                    --score;
+                }
+
+                horizontalPositive = horizontalPositive << 1 | 1;
+                horizontalNegative <<= 1;
+                positive = horizontalNegative | ~(vertical | horizontalPositive);
+                negative = horizontalPositive & vertical;
+            }
+
+            return score;
+        }
+
+        private long maskOf(char c) {
+            if (c < ASCII) {
+                return asciiMasks[c];
+            }
+
+            long mask = 0;
+            for (int i = 0; i < query.length(); ++i) {
+                if (query.charAt(i) == c) {
+                    mask |= 1L << i;
+                }
+            }
+            return mask;
+        }
+    }
+
+    private static class Node {
+        private final String word;
+        private Node[] children = new Node[0];
+        private boolean isDeleted;
+
+        private Node(String word) {
+            this.word = word;
+        }
+
+        private Node childAt(int distance) {
+            return distance < children.length ? children[distance] : null;
+        }
+
+        private void setChild(int distance, Node child) {
+            if (distance >= children.length) {
+                children = Arrays.copyOf(children, distance + 1);
+            }
+            children[distance] = child;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package chatterbox.index;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A compressed set of task IDs, split into chunks of 65536 IDs in the style of a Roaring bitmap.
+ *
+ * <p>Each chunk keeps the low 16 bits of its IDs in a sorted array while it holds at most
+ * {@value #ARRAY_LIMIT} of them, and in a 65536-bit bitmap once it holds more. Sparse chunks
+ * therefore cost two bytes per ID, while dense chunks, which are the common case because IDs
+ * are assigned in order, cost one bit per possible ID. Chunks with no IDs are dropped.
+ */
+class CompressedBitmap {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int WORDS = 1 << 16 >>> 6;
+
+    private final TreeMap<Long, Chunk> chunks = new TreeMap<>();
+
+    void add(long id) {
+        chunks.computeIfAbsent(id >>> 16, key -> new Chunk()).add((char) id);
+    }
+
+    void remove(long id) {
+        Chunk chunk = chunks.get(id >>> 16);
+        if (chunk != null) {
+            chunk.remove((char) id);
+            if (chunk.cardinality == 0) {
+                chunks.remove(id >>> 16);
+            }
+        }
+    }
+
+    boolean contains(long id) {
+        Chunk chunk = chunks.get(id >>> 16);
+        return chunk != null && chunk.contains((char) id);
+    }
+
+    void clear() {
+        chunks.clear();
+    }
+
+    long cardinality() {
+        long cardinality = 0;
+        for (Chunk chunk : chunks.values()) {
+            cardinality += chunk.cardinality;
+        }
+        return cardinality;
+    }
+
+    /**
+     * Returns the IDs in the set, in increasing order.
+     */
+    long[] toArray() {
+        long[] ids = new long[Math.toIntExact(cardinality())];
+        int length = 0;
+        for (Map.Entry<Long, Chunk> entry : chunks.entrySet()) {
+            length = entry.getValue().copyTo(entry.getKey() << 16, ids, length);
+        }
+        return ids;
+    }
+
+    /**
+     * Returns a new set holding the IDs found in both sets.
+     */
+    CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        Iterator<Map.Entry<Long, Chunk>> first = chunks.entrySet().iterator();
+        Iterator<Map.Entry<Long, Chunk>> second = other.chunks.entrySet().iterator();
+        Map.Entry<Long, Chunk> left = first.hasNext() ? first.next() : null;
+        Map.Entry<Long, Chunk> right = second.hasNext() ? second.next() : null;
+
+        while (left != null && right != null) {
+            int order = Long.compare(left.getKey(), right.getKey());
+            if (order == 0) {
+                Chunk chunk = left.getValue().and(right.getValue());
+                if (chunk.cardinality > 0) {
+                    result.chunks.put(left.getKey(), chunk);
+                }
+            }
+            if (order <= 0) {
+                left = first.hasNext() ? first.next() : null;
+            }
+            if (order >= 0) {
+                right = second.hasNext() ? second.next() : null;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * The IDs sharing the same high bits, as either a sorted array or a bitmap of their low 16 bits.
+     */
+    private static class Chunk {
+        private char[] values = new char[4];
+        private long[] words;
+        private int cardinality;
+
+        private boolean contains(char value) {
+            if (words != null) {
+                return (words[value >>> 6] & 1L << value) != 0;
+            }
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        private void add(char value) {
+            if (words != null) {
+                if ((words[value >>> 6] & 1L << value) == 0) {
+                    words[value >>> 6] |= 1L << value;
+                    ++cardinality;
+                }
+                return;
+            }
+
+            int position = cardinality == 0 || values[cardinality - 1] < value
+                    ? -(cardinality + 1)
+                    : Arrays.binarySearch(values, 0, cardinality, value);
+            if (position >= 0) {
+                return;
+            }
+
+            if (cardinality == ARRAY_LIMIT) {
+                toBitmap();
+                add(value);
+                return;
+            }
+
+            position = -position - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, cardinality * 2);
+            }
+            System.arraycopy(values, position, values, position + 1, cardinality - position);
+            values[position] = value;
+            ++cardinality;
+        }
+
+        private void remove(char value) {
+            if (words != null) {
+                if ((words[value >>> 6] & 1L << value) != 0) {
+                    words[value >>> 6] &= ~(1L << value);
+                    --cardinality;
+                    if (cardinality <= ARRAY_LIMIT / 2) {
+                        toArrayChunk();
+                    }
+                }
+                return;
+            }
+
+            int position = Arrays.binarySearch(values, 0, cardinality, value);
+            if (position >= 0) {
+                System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+                --cardinality;
+            }
+        }
+
+        private Chunk and(Chunk other) {
+            Chunk result = new Chunk();
+
+            if (words != null && other.words != null) {
+                result.words = new long[WORDS];
+                for (int i = 0; i < WORDS; ++i) {
+                    result.words[i] = words[i] & other.words[i];
+                    result.cardinality += Long.bitCount(result.words[i]);
+                }
+                if (result.cardinality <= ARRAY_LIMIT) {
+                    result.toArrayChunk();
+                }
+                return result;
+            }
+
+            Chunk array = words == null ? this : other;
+            Chunk probe = array == this ? other : this;
+            result.values = new char[Math.max(1, array.cardinality)];
+            for (int i = 0; i < array.cardinality; ++i) {
+                if (probe.contains(array.values[i])) {
+                    result.values[result.cardinality++] = array.values[i];
+                }
+            }
+            return result;
+        }
+
+        private int copyTo(long base, long[] ids, int length) {
+            if (words == null) {
+                for (int i = 0; i < cardinality; ++i) {
+                    ids[length++] = base | values[i];
+                }
+                return length;
+            }
+
+            for (int i = 0; i < WORDS; ++i) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    ids[length++] = base | (long) i << 6 | Long.numberOfTrailingZeros(word);
+                }
+            }
+            return length;
+        }
+
+        private void toBitmap() {
+            words = new long[WORDS];
+            for (int i = 0; i < cardinality; ++i) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            values = null;
+        }
+
+        private void toArrayChunk() {
+            char[] array = new char[Math.max(4, cardinality)];
+            int length = 0;
+            for (int i = 0; i < WORDS; ++i) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    array[length++] = (char) (i << 6 | Long.numberOfTrailingZeros(word));
+                }
+            }
+            values = array;
+            words = null;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package chatterbox.index;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import chatterbox.task.DeadlineTask;
+import chatterbox.task.Task;
+
+/**
+ * Keeps deadline tasks sorted by their deadlines, so that the tasks due within a period
+ * can be found in O(log n + k) time for k matching tasks. Other tasks are ignored.
+ *
+ * <p>Pending deadline tasks are also kept in a second map of their own, so that the k nearest
+ * pending deadlines are found in O(log n + k) time however many tasks due in that time are
+ * done. Marking a task as done takes it out of that map and unmarking it puts it back, each in
+ * O(log n) time.
+ */
+public class DeadlineIndex implements TaskIndex {
+    private final NavigableMap<LocalDateTime, PostingList> deadlines = new TreeMap<>();
+    private final NavigableMap<LocalDateTime, PostingList> pendingDeadlines = new TreeMap<>();
+    private int pendingCount;
+
+    @Override
+    public void add(Task task) {
+        if (!(task instanceof DeadlineTask)) {
+            return;
+        }
+
+        LocalDateTime deadline = ((DeadlineTask) task).getDeadline();
+        if (addTo(deadlines, deadline, task.getId()) && !task.isCompleted()) {
+            addTo(pendingDeadlines, deadline, task.getId());
+            ++pendingCount;
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        if (!(task instanceof DeadlineTask)) {
+            return;
+        }
+
+        LocalDateTime deadline = ((DeadlineTask) task).getDeadline();
+        if (removeFrom(deadlines, deadline, task.getId()) && removeFrom(pendingDeadlines, deadline, task.getId())) {
+            --pendingCount;
+        }
+    }
+
+    @Override
+    public void updateStatus(Task task) {
+        if (!(task instanceof DeadlineTask)) {
+            return;
+        }
+
+        LocalDateTime deadline = ((DeadlineTask) task).getDeadline();
+        PostingList all = deadlines.get(deadline);
+        if (all == null || !all.contains(task.getId())) {
+            return;
+        }
+
+        if (task.isCompleted() && removeFrom(pendingDeadlines, deadline, task.getId())) {
+            --pendingCount;
+        } else if (!task.isCompleted() && addTo(pendingDeadlines, deadline, task.getId())) {
+            ++pendingCount;
+        }
+    }
+
+    @Override
+    public void clear() {
+        deadlines.clear();
+        pendingDeadlines.clear();
+        pendingCount = 0;
+    }
+
+    /**
+     * Returns the IDs of the tasks due strictly before the given time, earliest deadline first.
+     *
+     * @param time Time that the tasks are due before
+     * @return IDs of the matching tasks
+     */
+    public long[] findDueBefore(LocalDateTime time) {
+        return collect(deadlines.headMap(time, false).values());
+    }
+
+    /**
+     * Returns the IDs of the tasks due at or after {@code start} and at or before {@code end},
+     * earliest deadline first.
+     *
+     * @param start Start of the period
+     * @param end End of the period
+     * @return IDs of the matching tasks, or none if the period ends before it starts
+     */
+    public long[] findDueBetween(LocalDateTime start, LocalDateTime end) {
+        if (end.isBefore(start)) {
+            return new long[0];
+        }
+
+        return collect(deadlines.subMap(start, true, end, true).values());
+    }
+
+    /**
+     * Returns the IDs of at most {@code count} pending tasks due at or after the given time,
+     * nearest deadline first.
+     *
+     * @param time Time that the tasks are due from
+     * @param count Maximum number of tasks to be returned
+     * @return IDs of the nearest pending tasks
+     */
+    public long[] findUpcoming(LocalDateTime time, int count) {
+        long[] ids = new long[Math.min(count, pendingCount)];
+        int length = 0;
+
+        for (PostingList list : pendingDeadlines.tailMap(time, true).values()) {
+            for (int i = 0; i < list.size() && length < ids.length; ++i) {
+                ids[length++] = list.get(i);
+            }
+
+            if (length == ids.length) {
+                return ids;
+            }
+        }
+
+        return Arrays.copyOf(ids, length);
+    }
+
+    /**
+     * Adds the ID under the deadline, returning false if it was already there.
+     */
+    private static boolean addTo(NavigableMap<LocalDateTime, PostingList> map, LocalDateTime deadline, long id) {
+        PostingList list = map.computeIfAbsent(deadline, key -> new PostingList());
+        if (list.contains(id)) {
+            return false;
+        }
+
+        list.add(id);
+        return true;
+    }
+
+    /**
+     * Removes the ID from under the deadline, returning false if it was not there.
+     */
+    private static boolean removeFrom(NavigableMap<LocalDateTime, PostingList> map, LocalDateTime deadline, long id) {
+        PostingList list = map.get(deadline);
+        if (list == null || !list.contains(id)) {
+            return false;
+        }
+
+        list.remove(id);
+        if (list.isEmpty()) {
+            map.remove(deadline);
+        }
+        return true;
+    }
+
+    private static long[] collect(Collection<PostingList> lists) {
+        long[] ids = new long[0];
+        int length = 0;
+
+        for (PostingList list : lists) {
+            if (length + list.size() > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(length + list.size(), ids.length * 2));
+            }
+            System.arraycopy(list.toArray(), 0, ids, length, list.size());
+            length += list.size();
+        }
+
+        return Arrays.copyOf(ids, length);
+    }
+}
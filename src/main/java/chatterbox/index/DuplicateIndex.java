@@ -0,0 +1,36 @@
+package chatterbox.index;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import chatterbox.task.Task;
+
+/**
+ * Indexes tasks by their symbol and description, the fields that {@link Task#equals(Object)}
+ * compares, so that duplicate tasks can be detected in constant time.
+ *
+ * <p>Saved data may already hold duplicates, so the index counts how many stored tasks
+ * are equal to each other rather than only recording that one exists.
+ */
+public class DuplicateIndex implements TaskIndex {
+    private final Map<Task, Integer> counts = new HashMap<>();
+
+    @Override
+    public void add(Task task) {
+        counts.merge(task, 1, Integer::sum);
+    }
+
+    @Override
+    public void remove(Task task) {
+        counts.computeIfPresent(task, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    @Override
+    public void clear() {
+        counts.clear();
+    }
+
+    public boolean contains(Task task) {
+        return counts.containsKey(task);
+    }
+}
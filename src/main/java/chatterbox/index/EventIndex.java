@@ -0,0 +1,63 @@
+package chatterbox.index;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import chatterbox.task.EventTask;
+import chatterbox.task.Task;
+
+/**
+ * Keeps the times of events in an {@link IntervalTree}, so that the events overlapping a period
+ * can be found in O(log n + k) time for k matching events.
+ * Events saved with free-text times cannot be placed in time and are ignored.
+ */
+public class EventIndex implements TaskIndex {
+    private final IntervalTree events = new IntervalTree();
+
+    @Override
+    public void add(Task task) {
+        if (task instanceof EventTask && ((EventTask) task).hasTimes()) {
+            EventTask event = (EventTask) task;
+            events.add(secondsOf(event.getStart()), secondsOf(event.getEnd()), task.getId());
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        if (task instanceof EventTask && ((EventTask) task).hasTimes()) {
+            events.remove(secondsOf(((EventTask) task).getStart()), task.getId());
+        }
+    }
+
+    @Override
+    public void clear() {
+        events.clear();
+    }
+
+    /**
+     * Returns the IDs of the events that are on at any time from {@code start} to {@code end}
+     * inclusive, earliest start first.
+     *
+     * @param start Start of the period
+     * @param end End of the period
+     * @return IDs of the matching events
+     */
+    public long[] findOverlapping(LocalDateTime start, LocalDateTime end) {
+        return events.findOverlapping(secondsOf(start), secondsOf(end));
+    }
+
+    /**
+     * Returns the IDs of the events that are on at any time during the given day, earliest start first.
+     *
+     * @param day Day of the agenda
+     * @return IDs of the matching events
+     */
+    public long[] findOnDay(LocalDate day) {
+        return events.findOverlapping(secondsOf(day.atStartOfDay()), secondsOf(day.plusDays(1).atStartOfDay()) - 1);
+    }
+
+    private static long secondsOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,78 @@
+package chatterbox.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import chatterbox.task.Task;
+
+/**
+ * Maps every word in task descriptions, ignoring case, to the IDs of the tasks that contain it,
+ * and keeps the words in a {@link BKTree} so that words a few typos away from a query word can
+ * be found without comparing the query against every word.
+ */
+public class FuzzyIndex implements TaskIndex {
+    private static final int SHORT_WORD_LENGTH = 4;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final BKTree tree = new BKTree();
+
+    @Override
+    public void add(Task task) {
+        for (String word : InvertedIndex.wordsOf(task.getTaskDescription().toLowerCase(Locale.ROOT))) {
+            postings.computeIfAbsent(word, key -> {
+                tree.add(key);
+                return new PostingList();
+            }).add(task.getId());
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        for (String word : InvertedIndex.wordsOf(task.getTaskDescription().toLowerCase(Locale.ROOT))) {
+            PostingList list = postings.get(word);
+            if (list == null) {
+                continue;
+            }
+
+            list.remove(task.getId());
+            if (list.isEmpty()) {
+                postings.remove(word);
+                tree.remove(word);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        postings.clear();
+        tree.clear();
+    }
+
+    /**
+     * Returns the IDs of the tasks that contain, for every word of the query, a word within
+     * one edit of it, or two edits for query words longer than {@value #SHORT_WORD_LENGTH}
+     * characters. Case is ignored.
+     *
+     * @param query Words to be matched
+     * @return IDs of the matching tasks in increasing order, or null if the query has no words
+     */
+    public long[] findApproximately(String query) {
+        long[] matches = null;
+
+        for (String word : InvertedIndex.wordsOf(query.toLowerCase(Locale.ROOT))) {
+            int maxDistance = word.length() > SHORT_WORD_LENGTH ? 2 : 1;
+            List<PostingList> lists = new ArrayList<>();
+            for (String close : tree.search(word, maxDistance)) {
+                lists.add(postings.get(close));
+            }
+
+            long[] ids = PostingList.union(lists);
+            matches = matches == null ? ids : PostingList.intersect(matches, ids);
+        }
+
+        return matches;
+    }
+}
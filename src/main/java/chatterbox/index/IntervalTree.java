@@ -0,0 +1,195 @@
+package chatterbox.index;
+
+import java.util.Arrays;
+
+/**
+ * A set of closed intervals of {@code long} values, each tagged with a task ID.
+ *
+ * <p>Intervals are kept in an AVL tree ordered by start and then by ID, and every node records the
+ * largest end in its subtree. A search skips any subtree whose largest end is before the window
+ * and stops at the first start after it, so finding the k intervals that overlap a window takes
+ * O(log n + k) time. Insertions and removals take O(log n) time.
+ */
+class IntervalTree {
+    private Node root;
+    private int size;
+
+    /**
+     * Adds the interval {@code [start, end]} tagged with the given ID.
+     */
+    void add(long start, long end, long id) {
+        root = insert(root, start, end, id);
+    }
+
+    /**
+     * Removes the interval starting at {@code start} tagged with the given ID, if it is present.
+     */
+    void remove(long start, long id) {
+        root = delete(root, start, id);
+    }
+
+    void clear() {
+        root = null;
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the IDs of the intervals that share at least one value with {@code [from, to]},
+     * ordered by start and then by ID.
+     */
+    long[] findOverlapping(long from, long to) {
+        Result result = new Result();
+        collect(root, from, to, result);
+        return Arrays.copyOf(result.ids, result.length);
+    }
+
+    private static void collect(Node node, long from, long to, Result result) {
+        while (node != null && node.maxEnd >= from) {
+            collect(node.left, from, to, result);
+            if (node.start > to) {
+                return;
+            }
+            if (node.end >= from) {
+                result.add(node.id);
+            }
+            node = node.right;
+        }
+    }
+
+    private Node insert(Node node, long start, long end, long id) {
+        if (node == null) {
+            ++size;
+            return new Node(start, end, id);
+        }
+
+        int order = compare(start, id, node);
+        if (order < 0) {
+            node.left = insert(node.left, start, end, id);
+        } else if (order > 0) {
+            node.right = insert(node.right, start, end, id);
+        } else {
+            node.end = end;
+        }
+
+        return balance(node);
+    }
+
+    private Node delete(Node node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+
+        int order = compare(start, id, node);
+        if (order < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (order > 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            if (node.left == null || node.right == null) {
+                --size;
+                return node.left != null ? node.left : node.right;
+            }
+
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.start = successor.start;
+            node.end = successor.end;
+            node.id = successor.id;
+            node.right = delete(node.right, successor.start, successor.id);
+        }
+
+        return balance(node);
+    }
+
+    private static int compare(long start, long id, Node node) {
+        int order = Long.compare(start, node.start);
+        return order != 0 ? order : Long.compare(id, node.id);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int factor = heightOf(node.left) - heightOf(node.right);
+
+        if (factor > 1) {
+            if (heightOf(node.left.left) < heightOf(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        } else if (factor < -1) {
+            if (heightOf(node.right.right) < heightOf(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(heightOf(node.left), heightOf(node.right));
+        node.maxEnd = node.end;
+        if (node.left != null) {
+            node.maxEnd = Math.max(node.maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            node.maxEnd = Math.max(node.maxEnd, node.right.maxEnd);
+        }
+    }
+
+    private static int heightOf(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static class Node {
+        private long start;
+        private long end;
+        private long id;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, long id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+
+    private static class Result {
+        private long[] ids = new long[16];
+        private int length;
+
+        private void add(long id) {
+            if (length == ids.length) {
+                ids = Arrays.copyOf(ids, length * 2);
+            }
+            ids[length++] = id;
+        }
+    }
+}
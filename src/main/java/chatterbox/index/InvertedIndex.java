@@ -0,0 +1,180 @@
+package chatterbox.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import chatterbox.task.Task;
+
+/**
+ * Maps every word in task descriptions to the IDs of the tasks that contain it.
+ *
+ * <p>Words are the runs of characters between spaces. The index narrows down the tasks whose
+ * descriptions may contain a query as a substring, keeping the exact semantics of
+ * {@link String#contains(CharSequence)}. A query that spans several words is split on its
+ * spaces: the first piece must end a word, every middle piece must be a whole word, and the
+ * last piece must start a word. The posting lists of those words are intersected, so the
+ * work done grows with the number of candidate tasks rather than the number of stored tasks.
+ * A query without spaces may appear anywhere inside a word, so the words containing it are
+ * looked up in a {@link TrigramIndex} over the vocabulary. Queries shorter than a trigram
+ * fall back to checking every word.
+ */
+public class InvertedIndex implements TaskIndex {
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final NavigableMap<String, PostingList> words = new TreeMap<>();
+    private final NavigableMap<String, PostingList> reversedWords = new TreeMap<>();
+    private final TrigramIndex trigrams = new TrigramIndex();
+
+    @Override
+    public void add(Task task) {
+        for (String word : wordsOf(task.getTaskDescription())) {
+            PostingList list = postings.get(word);
+            if (list == null) {
+                list = new PostingList();
+                postings.put(word, list);
+                words.put(word, list);
+                reversedWords.put(reverse(word), list);
+                trigrams.add(word);
+            }
+            list.add(task.getId());
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        for (String word : wordsOf(task.getTaskDescription())) {
+            PostingList list = postings.get(word);
+            if (list == null) {
+                continue;
+            }
+
+            list.remove(task.getId());
+            if (list.isEmpty()) {
+                postings.remove(word);
+                words.remove(word);
+                reversedWords.remove(reverse(word));
+                trigrams.remove(word);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        postings.clear();
+        words.clear();
+        reversedWords.clear();
+        trigrams.clear();
+    }
+
+    /**
+     * Returns the sorted IDs of the tasks whose descriptions may contain the query.
+     * Every task that does contain it is included, but the caller still has to check each one.
+     *
+     * @param query Text to search for
+     * @return IDs of candidate tasks, or null if the index cannot narrow down the query
+     */
+    public long[] findCandidates(String query) {
+        String[] pieces = query.split(" ", -1);
+        if (pieces.length == 1) {
+            return query.isEmpty() ? null : findWordsContaining(query);
+        }
+
+        // Each constraint holds the posting lists of the words one piece of the query may match.
+        List<List<PostingList>> constraints = new ArrayList<>();
+        if (!pieces[0].isEmpty()) {
+            constraints.add(new ArrayList<>(withPrefix(reversedWords, reverse(pieces[0]))));
+        }
+        for (int i = 1; i < pieces.length - 1; ++i) {
+            if (!pieces[i].isEmpty()) {
+                PostingList list = postings.get(pieces[i]);
+                constraints.add(list == null ? List.of() : List.of(list));
+            }
+        }
+        if (!pieces[pieces.length - 1].isEmpty()) {
+            constraints.add(new ArrayList<>(withPrefix(words, pieces[pieces.length - 1])));
+        }
+
+        if (constraints.isEmpty()) {
+            return null;
+        }
+
+        constraints.sort((first, second) -> Integer.compare(totalSize(first), totalSize(second)));
+        long[] candidates = PostingList.union(constraints.get(0));
+        for (int i = 1; i < constraints.size() && candidates.length > 0; ++i) {
+            candidates = narrow(candidates, constraints.get(i));
+        }
+        return candidates;
+    }
+
+    /**
+     * Keeps the candidates found in any of the posting lists. Each candidate is looked up
+     * in the lists directly unless there are so many lists that merging them is cheaper.
+     */
+    private static long[] narrow(long[] candidates, List<PostingList> lists) {
+        if ((long) candidates.length * lists.size() > totalSize(lists)) {
+            return PostingList.intersect(candidates, PostingList.union(lists));
+        }
+
+        long[] narrowed = new long[candidates.length];
+        int length = 0;
+        for (long id : candidates) {
+            for (PostingList list : lists) {
+                if (list.contains(id)) {
+                    narrowed[length++] = id;
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(narrowed, length);
+    }
+
+    private static int totalSize(List<PostingList> lists) {
+        int size = 0;
+        for (PostingList list : lists) {
+            size += list.size();
+        }
+        return size;
+    }
+
+    private long[] findWordsContaining(String query) {
+        List<PostingList> matches = new ArrayList<>();
+        if (query.length() >= TrigramIndex.TRIGRAM_LENGTH) {
+            for (String word : trigrams.findWordsContaining(query)) {
+                matches.add(postings.get(word));
+            }
+        } else {
+            for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+                if (entry.getKey().contains(query)) {
+                    matches.add(entry.getValue());
+                }
+            }
+        }
+
+        return PostingList.union(matches);
+    }
+
+    private static Collection<PostingList> withPrefix(NavigableMap<String, PostingList> map, String prefix) {
+        return map.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+    }
+
+    static Set<String> wordsOf(String description) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : description.split(" ")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static String reverse(String word) {
+        return new StringBuilder(word).reverse().toString();
+    }
+}
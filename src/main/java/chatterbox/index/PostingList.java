@@ -0,0 +1,110 @@
+package chatterbox.index;
+
+import java.util.Arrays;
+
+/**
+ * A sorted set of task IDs, stored as a growable array.
+ *
+ * <p>New tasks have the largest ID so far, so adding one is usually an append.
+ */
+class PostingList {
+    private long[] ids = new long[4];
+    private int size;
+
+    void add(long id) {
+        int position = size == 0 || ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+
+        position = -position - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        ++size;
+    }
+
+    void remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        --size;
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(int index) {
+        return ids[index];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Returns the sorted union of the given posting lists.
+     */
+    static long[] union(Iterable<PostingList> lists) {
+        int total = 0;
+        for (PostingList list : lists) {
+            total += list.size;
+        }
+
+        long[] union = new long[total];
+        int length = 0;
+        for (PostingList list : lists) {
+            System.arraycopy(list.ids, 0, union, length, list.size);
+            length += list.size;
+        }
+
+        Arrays.sort(union);
+        int distinct = 0;
+        for (int i = 0; i < union.length; ++i) {
+            if (i == 0 || union[i] != union[i - 1]) {
+                union[distinct++] = union[i];
+            }
+        }
+        return Arrays.copyOf(union, distinct);
+    }
+
+    /**
+     * Returns the IDs found in both sorted arrays.
+     */
+    static long[] intersect(long[] first, long[] second) {
+        long[] intersection = new long[Math.min(first.length, second.length)];
+        int length = 0;
+
+        for (int i = 0, j = 0; i < first.length && j < second.length; ) {
+            if (first[i] < second[j]) {
+                ++i;
+            } else if (first[i] > second[j]) {
+                ++j;
+            } else {
+                intersection[length++] = first[i];
+                ++i;
+                ++j;
+            }
+        }
+
+        return Arrays.copyOf(intersection, length);
+    }
+}
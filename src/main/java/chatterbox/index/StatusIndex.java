@@ -0,0 +1,68 @@
+package chatterbox.index;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import chatterbox.task.Task;
+
+/**
+ * Keeps a {@link CompressedBitmap} of task IDs for each completion status and each task symbol,
+ * so that the tasks matching a status and a type are found by intersecting two bitmaps
+ * instead of checking every task.
+ */
+public class StatusIndex implements TaskIndex {
+    private final CompressedBitmap completed = new CompressedBitmap();
+    private final CompressedBitmap pending = new CompressedBitmap();
+    private final Map<Character, CompressedBitmap> symbols = new HashMap<>();
+
+    @Override
+    public void add(Task task) {
+        (task.isCompleted() ? completed : pending).add(task.getId());
+        symbols.computeIfAbsent(task.getTaskSymbol(), symbol -> new CompressedBitmap()).add(task.getId());
+    }
+
+    @Override
+    public void remove(Task task) {
+        completed.remove(task.getId());
+        pending.remove(task.getId());
+        CompressedBitmap bitmap = symbols.get(task.getTaskSymbol());
+        if (bitmap != null) {
+            bitmap.remove(task.getId());
+        }
+    }
+
+    @Override
+    public void updateStatus(Task task) {
+        (task.isCompleted() ? pending : completed).remove(task.getId());
+        (task.isCompleted() ? completed : pending).add(task.getId());
+    }
+
+    @Override
+    public void clear() {
+        completed.clear();
+        pending.clear();
+        symbols.clear();
+    }
+
+    /**
+     * Returns the IDs of the tasks with the given symbol and completion status, in increasing order.
+     * A null symbol or status matches every task.
+     *
+     * @param symbol Symbol of the task type, such as {@code 'D'}, or null
+     * @param isCompleted Completion status, or null
+     * @return IDs of the matching tasks, or null if neither filter is given
+     */
+    public long[] find(Character symbol, Boolean isCompleted) {
+        if (symbol == null && isCompleted == null) {
+            return null;
+        }
+
+        CompressedBitmap status = isCompleted == null ? null : isCompleted ? completed : pending;
+        if (symbol == null) {
+            return status.toArray();
+        }
+
+        CompressedBitmap type = symbols.getOrDefault(symbol, new CompressedBitmap());
+        return status == null ? type.toArray() : type.and(status).toArray();
+    }
+}
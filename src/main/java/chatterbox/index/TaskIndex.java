@@ -0,0 +1,27 @@
+package chatterbox.index;
+
+import chatterbox.task.Task;
+
+/**
+ * A secondary index over the tasks held in a {@link chatterbox.memory.Storage}.
+ *
+ * <p>Storage builds an index from its tasks the first time the index is needed and then
+ * keeps it up to date by notifying it of every task that is added or removed, so queries
+ * answered by the index never have to scan the whole list. Indexes that depend on the
+ * completion status of a task are also notified when it is marked or unmarked.
+ */
+public interface TaskIndex {
+    void add(Task task);
+
+    void remove(Task task);
+
+    void clear();
+
+    /**
+     * Called after the completion status of a stored task has changed.
+     *
+     * @param task Task whose status changed
+     */
+    default void updateStatus(Task task) {
+    }
+}
@@ -0,0 +1,129 @@
+package chatterbox.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps every run of three characters to the words that contain it, so that the words
+ * containing a substring can be found without checking every word.
+ *
+ * <p>A word that contains a query also contains each of the query's trigrams, so intersecting
+ * the words of those trigrams leaves a small set of candidates. The candidates are then checked
+ * with {@link String#contains(CharSequence)}, which removes words that have every trigram but
+ * not in the right order. A removed word's number is handed to the next word added, so the
+ * table of words never grows past the most words indexed at once, however many are replaced.
+ */
+class TrigramIndex {
+    static final int TRIGRAM_LENGTH = 3;
+
+    private final Map<String, Integer> wordNumbers = new HashMap<>();
+    private final List<String> words = new ArrayList<>();
+    private final Deque<Integer> freeNumbers = new ArrayDeque<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+
+    void add(String word) {
+        if (wordNumbers.containsKey(word)) {
+            return;
+        }
+
+        Integer freeNumber = freeNumbers.poll();
+        int number = freeNumber == null ? words.size() : freeNumber;
+        wordNumbers.put(word, number);
+        if (freeNumber == null) {
+            words.add(word);
+        } else {
+            words.set(number, word);
+        }
+        for (long trigram : trigramsOf(word)) {
+            postings.computeIfAbsent(trigram, key -> new PostingList()).add(number);
+        }
+    }
+
+    void remove(String word) {
+        Integer number = wordNumbers.remove(word);
+        if (number == null) {
+            return;
+        }
+
+        words.set(number, null);
+        freeNumbers.push(number);
+        for (long trigram : trigramsOf(word)) {
+            PostingList list = postings.get(trigram);
+            list.remove(number);
+            if (list.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    void clear() {
+        wordNumbers.clear();
+        words.clear();
+        freeNumbers.clear();
+        postings.clear();
+    }
+
+    /**
+     * Returns every indexed word that contains the query, which must be at least
+     * {@link #TRIGRAM_LENGTH} characters long.
+     *
+     * @param query Text to search for
+     * @return Words containing the query
+     */
+    List<String> findWordsContaining(String query) {
+        assert query.length() >= TRIGRAM_LENGTH : "Query is too short to have a trigram";
+
+        List<PostingList> lists = new ArrayList<>();
+        for (long trigram : trigramsOf(query)) {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort((first, second) -> Integer.compare(first.size(), second.size()));
+
+        List<String> matches = new ArrayList<>();
+        for (long number : lists.get(0).toArray()) {
+            if (isInAll(lists, number) && words.get((int) number).contains(query)) {
+                matches.add(words.get((int) number));
+            }
+        }
+        return matches;
+    }
+
+    private static boolean isInAll(List<PostingList> lists, long number) {
+        for (int i = 1; i < lists.size(); ++i) {
+            if (!lists.get(i).contains(number)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the distinct trigrams of the text, each packed into a long.
+     */
+    private static long[] trigramsOf(String text) {
+        int count = Math.max(0, text.length() - TRIGRAM_LENGTH + 1);
+        long[] trigrams = new long[count];
+
+        for (int i = 0; i < count; ++i) {
+            trigrams[i] = (long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2);
+        }
+
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < count; ++i) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+}
@@ -0,0 +1,63 @@
+package chatterbox.memory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replaces save files so that a crash leaves either the old or the new contents behind.
+ *
+ * <p>The new contents are written to a temporary file next to the target and synced to the
+ * storage device before the temporary file is moved over the target with an atomic rename.
+ * The directory is synced afterwards where the platform allows it, so the rename itself
+ * survives a power loss.
+ */
+class AtomicFiles {
+
+    /**
+     * Atomically replaces the file with the given contents.
+     *
+     * @param file File to be replaced or created
+     * @param contents New contents of the file
+     * @throws IOException If the file cannot be written
+     */
+    static void replace(File file, byte[] contents) throws IOException {
+        Path tempFile = new File(file.getPath() + ".tmp").toPath();
+
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(contents);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        move(tempFile, file.toPath());
+    }
+
+    /**
+     * Atomically moves a file that has already been synced over the target.
+     *
+     * @param source File holding the new contents
+     * @param target File to be replaced
+     * @throws IOException If the file cannot be moved
+     */
+    static void move(Path source, Path target) throws IOException {
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(target.toAbsolutePath().getParent());
+    }
+
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Some platforms cannot sync directories; the rename is still atomic there.
+        }
+    }
+}
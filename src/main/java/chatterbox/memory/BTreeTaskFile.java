@@ -0,0 +1,777 @@
+package chatterbox.memory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import chatterbox.task.Task;
+
+/**
+ * Task save data kept in a B+ tree of fixed-size pages, keyed by task ID.
+ *
+ * <p>Leaf pages hold the serialized tasks in ID order and are chained together, so loading
+ * is a single ordered scan starting from the first leaf. Adding, marking or deleting a task
+ * walks from the root to the leaf that owns its ID and writes back only the pages it changes,
+ * which is O(log n) pages however many tasks are saved. Tasks too long to fit in a leaf are
+ * kept in chains of overflow pages. Pages are never merged, so a leaf emptied by deletions
+ * stays in the chain until the file is rebuilt.
+ *
+ * <p>Every page ends with a CRC32 of its contents, and the header is marked dirty while a
+ * page split is being written. If a page fails its check or the header is still dirty when
+ * the file is loaded, the tasks on every intact leaf are salvaged and the file is rebuilt.
+ */
+class BTreeTaskFile implements TaskBackend {
+    private static final int PAGE_SIZE = 4096;
+    private static final int CHECKSUM_OFFSET = PAGE_SIZE - 4;
+    private static final int MAGIC = 0x43425442;
+    private static final int VERSION = 1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int PAGE_SIZE_OFFSET = 8;
+    private static final int ROOT_OFFSET = 12;
+    private static final int PAGE_COUNT_OFFSET = 16;
+    private static final int FREE_HEAD_OFFSET = 20;
+    private static final int DIRTY_OFFSET = 24;
+
+    private static final byte FREE = 0;
+    private static final byte LEAF = 1;
+    private static final byte INTERNAL = 2;
+    private static final byte OVERFLOW = 3;
+
+    // Every page other than the header starts with a type byte, a count and a page number.
+    private static final int TYPE_OFFSET = 0;
+    private static final int COUNT_OFFSET = 1;
+    private static final int LINK_OFFSET = 3;
+    private static final int NODE_HEADER_SIZE = 7;
+
+    private static final int ENTRY_HEADER_SIZE = 13;
+    private static final int MAX_INLINE_LENGTH = 512;
+    private static final int MAX_KEYS = (CHECKSUM_OFFSET - NODE_HEADER_SIZE) / 12;
+    private static final int OVERFLOW_CAPACITY = CHECKSUM_OFFSET - NODE_HEADER_SIZE;
+    private static final int MAX_DEPTH = 32;
+
+    private static final int HEADER_PAGE = 0;
+    private static final int FIRST_LEAF = 1;
+
+    private final File file;
+    private FileChannel channel;
+    private int root;
+    private int pageCount;
+    private int freeHead;
+    private boolean isDirty;
+
+    private BTreeTaskFile(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the B-tree save file, creating an empty tree if it does not exist yet.
+     *
+     * @param file B-tree save file
+     * @return The opened save file
+     * @throws IOException If the file cannot be opened or is not a B-tree save file
+     */
+    static BTreeTaskFile open(File file) throws IOException {
+        BTreeTaskFile tree = new BTreeTaskFile(file);
+        tree.openChannel();
+        return tree;
+    }
+
+    /**
+     * Replaces a B-tree save file with one that holds exactly the given tasks.
+     * The tree is built bottom-up with full leaves, rather than by inserting tasks one by one.
+     *
+     * @param file B-tree save file to be written
+     * @param tasks Tasks with IDs to be written
+     * @throws IOException If the file cannot be written
+     */
+    static void writeAll(File file, List<? extends Task> tasks) throws IOException {
+        File tempFile = new File(file.getPath() + ".tmp");
+        Files.deleteIfExists(tempFile.toPath());
+
+        BTreeTaskFile tree = open(tempFile);
+        tree.buildFrom(tasks);
+        tree.force();
+        tree.close();
+
+        AtomicFiles.move(tempFile.toPath(), file.toPath());
+    }
+
+    /**
+     * Loads every task by walking the leaf chain in ID order.
+     * If the file is damaged, the tasks on intact leaves are kept and the file is rebuilt.
+     *
+     * @param storage Storage object in which Task objects are stored in
+     * @return true if the file was damaged
+     * @throws IOException If the file cannot be read or rebuilt
+     */
+    @Override
+    public boolean load(Storage<Task> storage) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        boolean isCorrupted = isDirty;
+
+        if (!isCorrupted) {
+            try {
+                readLeafChain(tasks);
+            } catch (IOException e) {
+                isCorrupted = true;
+            }
+        }
+
+        if (isCorrupted) {
+            tasks = salvage();
+            close();
+            writeAll(file, tasks);
+            openChannel();
+        }
+
+        for (Task task : tasks) {
+            storage.addItem(task);
+        }
+        return isCorrupted;
+    }
+
+    /**
+     * Inserts the task into the leaf that owns its ID, splitting pages that overflow.
+     * A saved task with the same ID is replaced.
+     *
+     * @param task Task with a persistent ID to be saved
+     * @throws IOException If the tree cannot be updated
+     */
+    @Override
+    public void append(Task task) throws IOException {
+        Entry entry = toEntry(task);
+        Deque<Internal> path = new ArrayDeque<>();
+        Leaf leaf = findLeaf(task.getId(), path);
+        int position = leaf.indexOf(task.getId());
+        if (position >= 0) {
+            freeOverflow(leaf.entries.set(position, entry));
+        } else {
+            position = -position - 1;
+            leaf.entries.add(position, entry);
+        }
+
+        if (leaf.byteSize() <= CHECKSUM_OFFSET) {
+            writeLeaf(leaf);
+            return;
+        }
+
+        setDirty(true);
+        splitLeaf(leaf, position, path);
+        setDirty(false);
+    }
+
+    @Override
+    public void updateStatus(long id, boolean isCompleted) throws IOException {
+        Leaf leaf = findLeaf(id, null);
+        int position = leaf.indexOf(id);
+        if (position < 0) {
+            return;
+        }
+
+        leaf.entries.get(position).isCompleted = isCompleted;
+        writeLeaf(leaf);
+    }
+
+    @Override
+    public void delete(long id) throws IOException {
+        Leaf leaf = findLeaf(id, null);
+        int position = leaf.indexOf(id);
+        if (position < 0) {
+            return;
+        }
+
+        Entry removed = leaf.entries.remove(position);
+        writeLeaf(leaf);
+        freeOverflow(removed);
+    }
+
+    @Override
+    public void force() throws IOException {
+        channel.force(true);
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Fills an empty tree with the given tasks, packing them into leaves in ID order and then
+     * building each level of internal pages above the one below it.
+     */
+    private void buildFrom(List<? extends Task> tasks) throws IOException {
+        List<Task> sorted = new ArrayList<>(tasks);
+        sorted.sort(Comparator.comparingLong(Task::getId));
+
+        List<Long> firstKeys = new ArrayList<>();
+        List<Integer> pages = new ArrayList<>();
+        Leaf leaf = new Leaf(FIRST_LEAF, 0, new ArrayList<>());
+        int leafSize = NODE_HEADER_SIZE;
+
+        for (Task task : sorted) {
+            Entry entry = toEntry(task);
+            if (!leaf.entries.isEmpty() && leaf.entries.get(leaf.entries.size() - 1).id == entry.id) {
+                freeOverflow(leaf.entries.remove(leaf.entries.size() - 1));
+                leafSize = leaf.byteSize();
+            }
+
+            if (leafSize + entry.byteSize() > CHECKSUM_OFFSET) {
+                Leaf next = new Leaf(allocatePage(), 0, new ArrayList<>());
+                leaf.next = next.page;
+                writeLeaf(leaf);
+                firstKeys.add(leaf.entries.get(0).id);
+                pages.add(leaf.page);
+                leaf = next;
+                leafSize = NODE_HEADER_SIZE;
+            }
+
+            leaf.entries.add(entry);
+            leafSize += entry.byteSize();
+        }
+
+        writeLeaf(leaf);
+        firstKeys.add(leaf.entries.isEmpty() ? 0 : leaf.entries.get(0).id);
+        pages.add(leaf.page);
+
+        while (pages.size() > 1) {
+            List<Long> parentKeys = new ArrayList<>();
+            List<Integer> parentPages = new ArrayList<>();
+
+            for (int start = 0; start < pages.size(); start += MAX_KEYS + 1) {
+                int end = Math.min(start + MAX_KEYS + 1, pages.size());
+                Internal node = new Internal(allocatePage());
+                node.children.addAll(pages.subList(start, end));
+                node.keys.addAll(firstKeys.subList(start + 1, end));
+                writeInternal(node);
+
+                parentKeys.add(firstKeys.get(start));
+                parentPages.add(node.page);
+            }
+
+            firstKeys = parentKeys;
+            pages = parentPages;
+        }
+
+        root = pages.get(0);
+        writeHeader();
+    }
+
+    private void openChannel() throws IOException {
+        channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (channel.size() == 0) {
+            root = FIRST_LEAF;
+            pageCount = FIRST_LEAF + 1;
+            freeHead = 0;
+            isDirty = false;
+            writeLeaf(new Leaf(FIRST_LEAF, 0, new ArrayList<>()));
+            writeHeader();
+            return;
+        }
+
+        ByteBuffer header = readPage(HEADER_PAGE);
+        if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION
+                || header.getInt(PAGE_SIZE_OFFSET) != PAGE_SIZE) {
+            channel.close();
+            throw new IOException(file + " is not a task B-tree file");
+        }
+
+        root = header.getInt(ROOT_OFFSET);
+        pageCount = header.getInt(PAGE_COUNT_OFFSET);
+        freeHead = header.getInt(FREE_HEAD_OFFSET);
+        isDirty = header.get(DIRTY_OFFSET) != 0;
+    }
+
+    /**
+     * Appends the tasks of every leaf to the list in chain order, checking that IDs increase.
+     *
+     * @throws IOException If a page is damaged or the chain is out of order
+     */
+    private void readLeafChain(List<Task> tasks) throws IOException {
+        long lastId = 0;
+        int visited = 0;
+
+        for (int page = FIRST_LEAF; page != 0; ) {
+            if (++visited > pageCount) {
+                throw new IOException("Leaf chain of " + file + " has a cycle");
+            }
+
+            Leaf leaf = readLeaf(page);
+            for (Entry entry : leaf.entries) {
+                Task task = decode(entry);
+                if (task == null || entry.id <= lastId) {
+                    throw new IOException("Leaf " + page + " of " + file + " is corrupted");
+                }
+
+                tasks.add(task);
+                lastId = entry.id;
+            }
+            page = leaf.next;
+        }
+    }
+
+    /**
+     * Collects the tasks of every intact leaf page, ignoring the tree structure.
+     */
+    private List<Task> salvage() {
+        Map<Long, Task> tasks = new TreeMap<>();
+
+        for (int page = FIRST_LEAF; page < pageCount; ++page) {
+            try {
+                ByteBuffer buffer = readPage(page);
+                if (buffer.get(TYPE_OFFSET) != LEAF) {
+                    continue;
+                }
+
+                for (Entry entry : decodeLeaf(page, buffer).entries) {
+                    Task task = decode(entry);
+                    if (task != null) {
+                        tasks.putIfAbsent(task.getId(), task);
+                    }
+                }
+            } catch (IOException e) {
+                // Skips damaged pages, dropping the tasks on them.
+            }
+        }
+
+        return new ArrayList<>(tasks.values());
+    }
+
+    /**
+     * Returns the task stored in the entry, or null if it cannot be parsed.
+     */
+    private Task decode(Entry entry) throws IOException {
+        byte[] line = entry.inline != null ? entry.inline : readOverflow(entry.overflow, entry.length);
+        Task task = MemoryStorage.parseTask(new String(line, StandardCharsets.UTF_8));
+        if (task == null || task.getId() != entry.id) {
+            return null;
+        }
+
+        if (entry.isCompleted) {
+            task.setCompleted();
+        } else {
+            task.setIncomplete();
+        }
+        return task;
+    }
+
+    /**
+     * Serializes a task into a leaf entry, moving long lines into overflow pages.
+     */
+    private Entry toEntry(Task task) throws IOException {
+        byte[] line = MemoryStorage.serializeTask(task).getBytes(StandardCharsets.UTF_8);
+        Entry entry = new Entry(task.getId(), task.isCompleted(), line.length);
+
+        if (line.length <= MAX_INLINE_LENGTH) {
+            entry.inline = line;
+        } else {
+            entry.overflow = writeOverflow(line);
+        }
+        return entry;
+    }
+
+    /**
+     * Walks from the root to the leaf whose key range contains the ID.
+     * Internal pages passed on the way are pushed onto {@code path} if it is given.
+     */
+    private Leaf findLeaf(long id, Deque<Internal> path) throws IOException {
+        int page = root;
+
+        for (int depth = 0; depth < MAX_DEPTH; ++depth) {
+            ByteBuffer buffer = readPage(page);
+            if (buffer.get(TYPE_OFFSET) == LEAF) {
+                return decodeLeaf(page, buffer);
+            }
+
+            Internal node = decodeInternal(page, buffer);
+            if (path != null) {
+                path.push(node);
+            }
+            page = node.children.get(node.childIndexOf(id));
+        }
+
+        throw new IOException("B-tree in " + file + " is too deep");
+    }
+
+    /**
+     * Moves the upper part of an overflowing leaf into a new leaf chained after it.
+     * When the entry was appended to the last leaf, only that entry is moved, so that
+     * leaves filled by adding tasks in ID order stay full.
+     */
+    private void splitLeaf(Leaf leaf, int insertedAt, Deque<Internal> path) throws IOException {
+        List<Entry> entries = leaf.entries;
+        int split;
+
+        if (leaf.next == 0 && insertedAt == entries.size() - 1) {
+            split = entries.size() - 1;
+        } else {
+            int half = leaf.byteSize() / 2;
+            int size = NODE_HEADER_SIZE + entries.get(0).byteSize();
+            split = 1;
+            while (split < entries.size() - 1 && size + entries.get(split).byteSize() <= half) {
+                size += entries.get(split).byteSize();
+                ++split;
+            }
+        }
+
+        Leaf right = new Leaf(allocatePage(), leaf.next, new ArrayList<>(entries.subList(split, entries.size())));
+        leaf.entries = new ArrayList<>(entries.subList(0, split));
+        leaf.next = right.page;
+
+        writeLeaf(right);
+        writeLeaf(leaf);
+        insertIntoParent(path, leaf.page, right.entries.get(0).id, right.page);
+    }
+
+    /**
+     * Adds a separator key and the page to its right into the parent of {@code leftPage},
+     * splitting parents that overflow up to the root.
+     */
+    private void insertIntoParent(Deque<Internal> path, int leftPage, long key, int rightPage) throws IOException {
+        if (path.isEmpty()) {
+            Internal newRoot = new Internal(allocatePage());
+            newRoot.children.add(leftPage);
+            newRoot.keys.add(key);
+            newRoot.children.add(rightPage);
+            writeInternal(newRoot);
+
+            root = newRoot.page;
+            writeHeader();
+            return;
+        }
+
+        Internal parent = path.pop();
+        int position = parent.childIndexOf(key);
+        parent.keys.add(position, key);
+        parent.children.add(position + 1, rightPage);
+
+        if (parent.keys.size() <= MAX_KEYS) {
+            writeInternal(parent);
+            return;
+        }
+
+        int middle = position == parent.keys.size() - 1 ? position : parent.keys.size() / 2;
+        long middleKey = parent.keys.get(middle);
+        Internal right = new Internal(allocatePage());
+        right.keys.addAll(parent.keys.subList(middle + 1, parent.keys.size()));
+        right.children.addAll(parent.children.subList(middle + 1, parent.children.size()));
+        parent.keys = new ArrayList<>(parent.keys.subList(0, middle));
+        parent.children = new ArrayList<>(parent.children.subList(0, middle + 1));
+
+        writeInternal(right);
+        writeInternal(parent);
+        insertIntoParent(path, parent.page, middleKey, right.page);
+    }
+
+    /**
+     * Writes a value that does not fit in a leaf into a chain of overflow pages.
+     *
+     * @return The first page of the chain
+     */
+    private int writeOverflow(byte[] bytes) throws IOException {
+        int next = 0;
+
+        for (int start = (bytes.length - 1) / OVERFLOW_CAPACITY * OVERFLOW_CAPACITY; start >= 0;
+                start -= OVERFLOW_CAPACITY) {
+            int length = Math.min(OVERFLOW_CAPACITY, bytes.length - start);
+            int page = allocatePage();
+
+            ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+            buffer.put(TYPE_OFFSET, OVERFLOW);
+            buffer.putShort(COUNT_OFFSET, (short) length);
+            buffer.putInt(LINK_OFFSET, next);
+            buffer.put(NODE_HEADER_SIZE, bytes, start, length);
+            writePage(page, buffer);
+            next = page;
+        }
+
+        return next;
+    }
+
+    private byte[] readOverflow(int page, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int position = 0;
+
+        while (position < length) {
+            ByteBuffer buffer = readPage(page);
+            int used = buffer.getShort(COUNT_OFFSET);
+            if (page == 0 || buffer.get(TYPE_OFFSET) != OVERFLOW || used <= 0 || used > length - position) {
+                throw new IOException("Overflow page " + page + " of " + file + " is corrupted");
+            }
+
+            buffer.get(NODE_HEADER_SIZE, bytes, position, used);
+            position += used;
+            page = buffer.getInt(LINK_OFFSET);
+        }
+
+        return bytes;
+    }
+
+    private void freeOverflow(Entry entry) throws IOException {
+        if (entry.inline != null) {
+            return;
+        }
+
+        for (int page = entry.overflow; page != 0; ) {
+            int next = readPage(page).getInt(LINK_OFFSET);
+            freePage(page);
+            page = next;
+        }
+    }
+
+    private int allocatePage() throws IOException {
+        int page;
+        if (freeHead != 0) {
+            page = freeHead;
+            freeHead = readPage(page).getInt(LINK_OFFSET);
+        } else {
+            page = pageCount++;
+        }
+
+        writeHeader();
+        return page;
+    }
+
+    private void freePage(int page) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+        buffer.put(TYPE_OFFSET, FREE);
+        buffer.putInt(LINK_OFFSET, freeHead);
+        writePage(page, buffer);
+
+        freeHead = page;
+        writeHeader();
+    }
+
+    private void setDirty(boolean isDirty) throws IOException {
+        this.isDirty = isDirty;
+        writeHeader();
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(PAGE_SIZE_OFFSET, PAGE_SIZE);
+        buffer.putInt(ROOT_OFFSET, root);
+        buffer.putInt(PAGE_COUNT_OFFSET, pageCount);
+        buffer.putInt(FREE_HEAD_OFFSET, freeHead);
+        buffer.put(DIRTY_OFFSET, (byte) (isDirty ? 1 : 0));
+        writePage(HEADER_PAGE, buffer);
+    }
+
+    private Leaf readLeaf(int page) throws IOException {
+        return decodeLeaf(page, readPage(page));
+    }
+
+    private Leaf decodeLeaf(int page, ByteBuffer buffer) throws IOException {
+        if (buffer.get(TYPE_OFFSET) != LEAF) {
+            throw new IOException("Page " + page + " of " + file + " is not a leaf");
+        }
+
+        int count = buffer.getShort(COUNT_OFFSET);
+        List<Entry> entries = new ArrayList<>(count);
+        buffer.position(NODE_HEADER_SIZE);
+        for (int i = 0; i < count; ++i) {
+            Entry entry = new Entry(buffer.getLong(), buffer.get() != 0, buffer.getInt());
+            if (entry.length < 0) {
+                throw new IOException("Leaf " + page + " of " + file + " is corrupted");
+            }
+
+            if (entry.length <= MAX_INLINE_LENGTH) {
+                entry.inline = new byte[entry.length];
+                buffer.get(entry.inline);
+            } else {
+                entry.overflow = buffer.getInt();
+            }
+            entries.add(entry);
+        }
+
+        return new Leaf(page, buffer.getInt(LINK_OFFSET), entries);
+    }
+
+    private void writeLeaf(Leaf leaf) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+        buffer.put(LEAF);
+        buffer.putShort((short) leaf.entries.size());
+        buffer.putInt(leaf.next);
+
+        for (Entry entry : leaf.entries) {
+            buffer.putLong(entry.id);
+            buffer.put((byte) (entry.isCompleted ? 1 : 0));
+            buffer.putInt(entry.length);
+            if (entry.inline != null) {
+                buffer.put(entry.inline);
+            } else {
+                buffer.putInt(entry.overflow);
+            }
+        }
+
+        writePage(leaf.page, buffer);
+    }
+
+    private Internal decodeInternal(int page, ByteBuffer buffer) throws IOException {
+        int count = buffer.getShort(COUNT_OFFSET);
+        if (buffer.get(TYPE_OFFSET) != INTERNAL || count < 0 || count > MAX_KEYS) {
+            throw new IOException("Page " + page + " of " + file + " is not an internal page");
+        }
+
+        Internal node = new Internal(page);
+        node.children.add(buffer.getInt(LINK_OFFSET));
+        buffer.position(NODE_HEADER_SIZE);
+        for (int i = 0; i < count; ++i) {
+            node.keys.add(buffer.getLong());
+            node.children.add(buffer.getInt());
+        }
+
+        return node;
+    }
+
+    private void writeInternal(Internal node) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+        buffer.put(INTERNAL);
+        buffer.putShort((short) node.keys.size());
+        buffer.putInt(node.children.get(0));
+
+        for (int i = 0; i < node.keys.size(); ++i) {
+            buffer.putLong(node.keys.get(i));
+            buffer.putInt(node.children.get(i + 1));
+        }
+
+        writePage(node.page, buffer);
+    }
+
+    /**
+     * Reads a page and verifies its checksum.
+     */
+    private ByteBuffer readPage(int page) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+        long position = (long) page * PAGE_SIZE;
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Page " + page + " of " + file + " is missing");
+            }
+        }
+
+        if (buffer.getInt(CHECKSUM_OFFSET) != checksumOf(buffer)) {
+            throw new IOException("Page " + page + " of " + file + " failed its checksum");
+        }
+
+        buffer.clear();
+        return buffer;
+    }
+
+    private void writePage(int page, ByteBuffer buffer) throws IOException {
+        buffer.putInt(CHECKSUM_OFFSET, checksumOf(buffer));
+        buffer.clear();
+
+        long position = (long) page * PAGE_SIZE;
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private static int checksumOf(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, CHECKSUM_OFFSET);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * A saved task within a leaf. Its serialized line is either stored inline or in
+     * a chain of overflow pages starting at {@code overflow}.
+     */
+    private static class Entry {
+        private final long id;
+        private boolean isCompleted;
+        private final int length;
+        private byte[] inline;
+        private int overflow;
+
+        private Entry(long id, boolean isCompleted, int length) {
+            this.id = id;
+            this.isCompleted = isCompleted;
+            this.length = length;
+        }
+
+        private int byteSize() {
+            return ENTRY_HEADER_SIZE + (inline != null ? inline.length : 4);
+        }
+    }
+
+    /**
+     * A decoded leaf page holding entries in increasing ID order.
+     */
+    private static class Leaf {
+        private final int page;
+        private int next;
+        private List<Entry> entries;
+
+        private Leaf(int page, int next, List<Entry> entries) {
+            this.page = page;
+            this.next = next;
+            this.entries = entries;
+        }
+
+        private int indexOf(long id) {
+            int low = 0;
+            int high = entries.size() - 1;
+
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midId = entries.get(mid).id;
+
+                if (midId < id) {
+                    low = mid + 1;
+                } else if (midId > id) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+
+            return -(low + 1);
+        }
+
+        private int byteSize() {
+            int size = NODE_HEADER_SIZE;
+            for (Entry entry : entries) {
+                size += entry.byteSize();
+            }
+            return size;
+        }
+    }
+
+    /**
+     * A decoded internal page. Child {@code i + 1} holds the IDs from {@code keys[i]} onwards.
+     */
+    private static class Internal {
+        private final int page;
+        private List<Long> keys = new ArrayList<>();
+        private List<Integer> children = new ArrayList<>();
+
+        private Internal(int page) {
+            this.page = page;
+        }
+
+        private int childIndexOf(long id) {
+            int position = Collections.binarySearch(keys, id);
+            return position >= 0 ? position + 1 : -position - 1;
+        }
+    }
+}
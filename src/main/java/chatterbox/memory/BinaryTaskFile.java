@@ -0,0 +1,424 @@
+package chatterbox.memory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import chatterbox.task.DeadlineTask;
+import chatterbox.task.EventTask;
+import chatterbox.task.Task;
+import chatterbox.task.TodoTask;
+
+/**
+ * A memory-mapped binary save file for {@link Task} objects.
+ *
+ * <p>The file starts with a fixed header followed by one record per task. Every record
+ * begins with a fixed layout: a status byte, a symbol byte, a deleted byte, a field count
+ * byte, the total record length and the task's persistent ID. The task's strings follow as
+ * length-prefixed UTF-8 fields. Because the status lives at a known offset, marking and
+ * unmarking a task flips a single byte in place, and deleting a task only sets its deleted byte.
+ *
+ * <p>An in-memory offset table maps the persistent ID of each live task to the offset
+ * of its record in the file. Files written before IDs were stored (version 1) are
+ * rewritten in the current version when loaded, and files with more deleted records than
+ * live ones are compacted. Both write a new file next to the old one and move it into place,
+ * see {@link #writeAll(File, List)}, so a crash during either leaves the old file intact.
+ */
+public class BinaryTaskFile implements TaskBackend {
+    private static final int MAGIC = 0x43425831;
+    private static final int VERSION = 2;
+    private static final int VERSION_WITHOUT_IDS = 1;
+
+    private static final int HEADER_SIZE = 24;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int USED_LENGTH_OFFSET = 8;
+    private static final int LIVE_COUNT_OFFSET = 12;
+    private static final int DEAD_COUNT_OFFSET = 16;
+
+    private static final int RECORD_HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE_WITHOUT_IDS = 8;
+    private static final int STATUS_OFFSET = 0;
+    private static final int SYMBOL_OFFSET = 1;
+    private static final int DELETED_OFFSET = 2;
+    private static final int FIELD_COUNT_OFFSET = 3;
+    private static final int RECORD_LENGTH_OFFSET = 4;
+    private static final int ID_OFFSET = 8;
+
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final File file;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    private final Map<Long, Integer> offsets = new HashMap<>();
+    private int version;
+    private int usedLength;
+    private int deadCount;
+
+    private BinaryTaskFile(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the binary save file, creating an empty one if it does not exist yet.
+     *
+     * @param file Binary save file to be opened
+     * @return {@code BinaryTaskFile} backed by the given file
+     * @throws IOException If the file cannot be opened or is not a binary save file
+     */
+    public static BinaryTaskFile open(File file) throws IOException {
+        BinaryTaskFile taskFile = new BinaryTaskFile(file);
+        taskFile.map();
+        return taskFile;
+    }
+
+    /**
+     * Decodes every live record into a task and adds it into the storage object.
+     * If a record is corrupted, it and every record after it are discarded.
+     *
+     * @param storage Storage object in which Task objects are stored in
+     * @return true if corrupted records were discarded
+     * @throws IOException If the file has to be rewritten in the current version and cannot be
+     */
+    @Override
+    public boolean load(Storage<Task> storage) throws IOException {
+        boolean isCorruptedFile = false;
+        int offset = HEADER_SIZE;
+        List<Task> tasks = new ArrayList<>();
+        offsets.clear();
+        deadCount = 0;
+
+        while (offset < usedLength) {
+            int length = recordLength(offset);
+
+            if (length < recordHeaderSize() || offset + length > usedLength) {
+                isCorruptedFile = true;
+                break;
+            }
+
+            if (buffer.get(offset + DELETED_OFFSET) != 0) {
+                ++deadCount;
+            } else {
+                Task task = decode(offset);
+
+                if (task == null) {
+                    buffer.put(offset + DELETED_OFFSET, (byte) 1);
+                    ++deadCount;
+                    isCorruptedFile = true;
+                } else {
+                    tasks.add(task);
+                    offsets.put(task.getId(), offset);
+                }
+            }
+
+            offset += length;
+        }
+
+        usedLength = offset;
+        writeHeader();
+
+        boolean hasMissingIds = MemoryStorage.assignMissingIds(tasks);
+        boolean hasDuplicateIds = MemoryStorage.dropDuplicateIds(tasks);
+        isCorruptedFile |= hasDuplicateIds;
+
+        if (hasMissingIds || hasDuplicateIds || version == VERSION_WITHOUT_IDS) {
+            rewrite(tasks);
+        } else if (deadCount > offsets.size()) {
+            try {
+                rewrite(tasks);
+            } catch (IOException e) {
+                System.out.println("Unable to compact binary task file! Deleted tasks still take up space.");
+            }
+        }
+
+        for (Task task : tasks) {
+            storage.addItem(task);
+        }
+
+        return isCorruptedFile;
+    }
+
+    /**
+     * Appends a record for a new task to the end of the file.
+     *
+     * @param task Task to be saved
+     */
+    @Override
+    public void append(Task task) {
+        byte[] record = encode(task);
+        ensureCapacity(record.length);
+
+        buffer.put(usedLength, record);
+        offsets.put(task.getId(), usedLength);
+        usedLength += record.length;
+        writeHeader();
+    }
+
+    /**
+     * Flips the status byte of the task with the given ID in place.
+     * If no task has the ID, the file is not updated.
+     *
+     * @param id Persistent ID of the task
+     * @param isCompleted Completion status to set the task to
+     */
+    @Override
+    public void updateStatus(long id, boolean isCompleted) {
+        Integer offset = offsets.get(id);
+        if (offset == null) {
+            return;
+        }
+
+        buffer.put(offset + STATUS_OFFSET, (byte) (isCompleted ? 1 : 0));
+    }
+
+    /**
+     * Marks the record of the task with the given ID as deleted.
+     * If no task has the ID, the file is not updated.
+     *
+     * @param id Persistent ID of the task
+     */
+    @Override
+    public void delete(long id) {
+        Integer offset = offsets.remove(id);
+        if (offset == null) {
+            return;
+        }
+
+        buffer.put(offset + DELETED_OFFSET, (byte) 1);
+        ++deadCount;
+        writeHeader();
+    }
+
+    /**
+     * Forces changes made to the mapped file onto the storage device.
+     */
+    @Override
+    public void force() {
+        buffer.force();
+    }
+
+    /**
+     * Releases the file channel backing the mapped file.
+     */
+    public void close() {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            System.out.println("Unable to close binary task file!");
+        }
+    }
+
+    /**
+     * Returns every task stored in a binary save file.
+     *
+     * @param file Binary save file to be read
+     * @return List of tasks in the order they are stored in
+     * @throws IOException If the file cannot be read
+     */
+    public static List<Task> readAll(File file) throws IOException {
+        Storage<Task> storage = new Storage<>();
+        BinaryTaskFile taskFile = open(file);
+        taskFile.load(storage);
+        taskFile.close();
+
+        List<Task> tasks = new ArrayList<>();
+        for (int index = 0; index < storage.size(); ++index) {
+            tasks.add(storage.getItem(index));
+        }
+        return tasks;
+    }
+
+    /**
+     * Replaces a binary save file with one that holds exactly the given tasks.
+     *
+     * @param file Binary save file to be written
+     * @param tasks Tasks to be written, in order
+     * @throws IOException If the file cannot be written
+     */
+    public static void writeAll(File file, List<? extends Task> tasks) throws IOException {
+        File tempFile = new File(file.getPath() + ".tmp");
+        Files.deleteIfExists(tempFile.toPath());
+
+        BinaryTaskFile taskFile = open(tempFile);
+        for (Task task : tasks) {
+            taskFile.append(task);
+        }
+        taskFile.close();
+
+        AtomicFiles.move(tempFile.toPath(), file.toPath());
+    }
+
+    private void map() throws IOException {
+        boolean isNewFile = !file.exists() || file.length() < HEADER_SIZE;
+
+        channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), INITIAL_CAPACITY));
+
+        if (isNewFile) {
+            usedLength = HEADER_SIZE;
+            version = VERSION;
+            buffer.putInt(MAGIC_OFFSET, MAGIC);
+            buffer.putInt(VERSION_OFFSET, VERSION);
+            writeHeader();
+            return;
+        }
+
+        version = buffer.getInt(VERSION_OFFSET);
+        if (buffer.getInt(MAGIC_OFFSET) != MAGIC || version != VERSION && version != VERSION_WITHOUT_IDS) {
+            channel.close();
+            throw new IOException("Not a ChatterBox binary task file: " + file);
+        }
+
+        usedLength = Math.min(Math.max(buffer.getInt(USED_LENGTH_OFFSET), HEADER_SIZE), buffer.capacity());
+    }
+
+    private void ensureCapacity(int extra) {
+        if (usedLength + extra <= buffer.capacity()) {
+            return;
+        }
+
+        int capacity = Math.max(buffer.capacity() * 2, usedLength + extra);
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to grow binary task file", e);
+        }
+    }
+
+    /**
+     * Replaces the file with one in the current version that holds exactly the given tasks,
+     * and maps the new file in place of the old one. The old file stays mapped until the new
+     * one has been moved over it, so it is left as it was if the new file cannot be written.
+     */
+    private void rewrite(List<Task> tasks) throws IOException {
+        writeAll(file, tasks);
+
+        channel.close();
+        map();
+        offsets.clear();
+        deadCount = 0;
+        for (int offset = HEADER_SIZE; offset < usedLength; offset += recordLength(offset)) {
+            offsets.put(buffer.getLong(offset + ID_OFFSET), offset);
+        }
+    }
+
+    private void writeHeader() {
+        buffer.putInt(USED_LENGTH_OFFSET, usedLength);
+        buffer.putInt(LIVE_COUNT_OFFSET, offsets.size());
+        buffer.putInt(DEAD_COUNT_OFFSET, deadCount);
+    }
+
+    private int recordHeaderSize() {
+        return version == VERSION_WITHOUT_IDS ? RECORD_HEADER_SIZE_WITHOUT_IDS : RECORD_HEADER_SIZE;
+    }
+
+    private int recordLength(int offset) {
+        if (offset + RECORD_HEADER_SIZE_WITHOUT_IDS > usedLength) {
+            return -1;
+        }
+        return buffer.getInt(offset + RECORD_LENGTH_OFFSET);
+    }
+
+    /**
+     * Returns the task stored in the record at the given offset, or null if the record is corrupted.
+     */
+    private Task decode(int offset) {
+        byte status = buffer.get(offset + STATUS_OFFSET);
+        char symbol = (char) buffer.get(offset + SYMBOL_OFFSET);
+        int fieldCount = buffer.get(offset + FIELD_COUNT_OFFSET);
+        int end = offset + recordLength(offset);
+
+        if (status != 0 && status != 1) {
+            return null;
+        }
+
+        String[] fields = new String[fieldCount];
+        int position = offset + recordHeaderSize();
+        for (int i = 0; i < fieldCount; ++i) {
+            if (position + Integer.BYTES > end) {
+                return null;
+            }
+
+            int length = buffer.getInt(position);
+            position += Integer.BYTES;
+            if (length < 0 || position + length > end) {
+                return null;
+            }
+
+            byte[] bytes = new byte[length];
+            buffer.get(position, bytes);
+            fields[i] = new String(bytes, StandardCharsets.UTF_8);
+            position += length;
+        }
+
+        try {
+            boolean isCompleted = status == 1;
+            Task task;
+            switch (symbol) {
+            case 'T':
+                task = new TodoTask(fields[0], isCompleted);
+                break;
+            case 'D':
+                task = new DeadlineTask(fields[0], fields[1], isCompleted);
+                break;
+            case 'E':
+                task = new EventTask(fields[0], fields[1], fields[2], isCompleted);
+                break;
+            default:
+                return null;
+            }
+
+            if (version != VERSION_WITHOUT_IDS) {
+                task.setId(buffer.getLong(offset + ID_OFFSET));
+            }
+            return task;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static byte[] encode(Task task) {
+        List<String> fields = new ArrayList<>();
+        fields.add(task.getTaskDescription());
+
+        if (task instanceof DeadlineTask) {
+            fields.add(((DeadlineTask) task).serializeDeadline());
+        } else if (task instanceof EventTask) {
+            fields.add(((EventTask) task).getStartTime());
+            fields.add(((EventTask) task).getEndTime());
+        }
+
+        byte[][] encoded = new byte[fields.size()][];
+        int length = RECORD_HEADER_SIZE;
+        for (int i = 0; i < encoded.length; ++i) {
+            encoded[i] = fields.get(i).getBytes(StandardCharsets.UTF_8);
+            length += Integer.BYTES + encoded[i].length;
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.put((byte) (task.isCompleted() ? 1 : 0));
+        record.put((byte) task.getTaskSymbol());
+        record.put((byte) 0);
+        record.put((byte) encoded.length);
+        record.putInt(length);
+        record.putLong(task.getId());
+        for (byte[] field : encoded) {
+            record.putInt(field.length);
+            record.put(field);
+        }
+
+        return record.array();
+    }
+}
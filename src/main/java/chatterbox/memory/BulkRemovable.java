@@ -0,0 +1,33 @@
+package chatterbox.memory;
+
+/**
+ * A list of tasks that can remove many positions at once, moving each remaining task
+ * only once instead of once per removed task.
+ *
+ * <p>{@link Storage} uses this when deleting several tasks in one command.
+ */
+interface BulkRemovable {
+    /**
+     * Removes the tasks at the given positions.
+     *
+     * @param sortedPositions Indexes of the tasks, in increasing order without repeats
+     * @throws IndexOutOfBoundsException If there is no task at one of the indexes
+     * @throws IllegalArgumentException If the indexes are not in increasing order
+     */
+    void removeAll(int[] sortedPositions);
+
+    /**
+     * Checks that the positions are indexes of a list of the given size, in increasing order.
+     */
+    static void checkPositions(int[] sortedPositions, int size) {
+        for (int i = 0; i < sortedPositions.length; ++i) {
+            int index = sortedPositions[i];
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            if (i > 0 && index <= sortedPositions[i - 1]) {
+                throw new IllegalArgumentException("Positions are not in increasing order: " + index);
+            }
+        }
+    }
+}
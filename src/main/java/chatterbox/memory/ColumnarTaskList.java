@@ -0,0 +1,270 @@
+package chatterbox.memory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import chatterbox.task.DeadlineTask;
+import chatterbox.task.EventTask;
+import chatterbox.task.Task;
+import chatterbox.task.TodoTask;
+
+/**
+ * A list of tasks stored column by column instead of as one object per task.
+ *
+ * <p>Every task is a row across parallel columns: its ID, its symbol as a byte, its completion
+ * status as a bit, its times as minutes since the epoch, and the position of its description in
+ * a shared arena of UTF-8 bytes. No {@link Task} is kept; {@link #get(int)} builds a new task from
+ * its row every time, so changes to a returned task are only stored once it is passed back to
+ * {@link #set(int, Task)}. Events saved with free-text times by older versions keep their times
+ * in a side table, as they cannot be stored as minutes.
+ *
+ * <p>Removing a task leaves its description in the arena. The arena is compacted once such
+ * unused bytes outnumber the bytes still in use.
+ */
+class ColumnarTaskList extends AbstractList<Task> implements RandomAccess, IdIndexed, BulkRemovable {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private byte[] symbols = new byte[INITIAL_CAPACITY];
+    private final BitSet completed = new BitSet();
+    private long[] startMinutes = new long[INITIAL_CAPACITY];
+    private long[] endMinutes = new long[INITIAL_CAPACITY];
+    private int[] textOffsets = new int[INITIAL_CAPACITY];
+    private int[] textLengths = new int[INITIAL_CAPACITY];
+    private final Map<Long, String[]> freeTextTimes = new HashMap<>();
+    private byte[] arena = new byte[INITIAL_CAPACITY * 32];
+    private int arenaLength;
+    private int unusedBytes;
+    private int size;
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index, size);
+
+        String description = new String(arena, textOffsets[index], textLengths[index], StandardCharsets.UTF_8);
+        boolean isCompleted = completed.get(index);
+        Task task;
+        switch (symbols[index]) {
+        case 'D':
+            task = new DeadlineTask(description, timeOf(startMinutes[index]), isCompleted);
+            break;
+        case 'E':
+            String[] times = freeTextTimes.get(ids[index]);
+            task = times != null
+                    ? new EventTask(description, times[0], times[1], isCompleted)
+                    : new EventTask(description, timeOf(startMinutes[index]), timeOf(endMinutes[index]), isCompleted);
+            break;
+        default:
+            task = new TodoTask(description, isCompleted);
+            break;
+        }
+
+        task.setId(ids[index]);
+        return task;
+    }
+
+    @Override
+    public long idAt(int index) {
+        checkIndex(index, size);
+        return ids[index];
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        if (!previous.getTaskDescription().equals(task.getTaskDescription())) {
+            unusedBytes += textLengths[index];
+            writeText(index, task.getTaskDescription());
+        }
+
+        freeTextTimes.remove(ids[index]);
+        writeRow(index, task);
+        compactIfSparse();
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        checkIndex(index, size + 1);
+        if (size == ids.length) {
+            grow();
+        }
+
+        int moved = size - index;
+        System.arraycopy(ids, index, ids, index + 1, moved);
+        System.arraycopy(symbols, index, symbols, index + 1, moved);
+        System.arraycopy(startMinutes, index, startMinutes, index + 1, moved);
+        System.arraycopy(endMinutes, index, endMinutes, index + 1, moved);
+        System.arraycopy(textOffsets, index, textOffsets, index + 1, moved);
+        System.arraycopy(textLengths, index, textLengths, index + 1, moved);
+        for (int i = size; i > index; --i) {
+            completed.set(i, completed.get(i - 1));
+        }
+        ++size;
+
+        writeText(index, task.getTaskDescription());
+        writeRow(index, task);
+        ++modCount;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        removeAll(new int[] {index});
+        return removed;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Each column is compacted in one pass, and the completion bits are moved a word at a time.
+     */
+    @Override
+    public void removeAll(int[] sortedPositions) {
+        BulkRemovable.checkPositions(sortedPositions, size);
+        if (sortedPositions.length == 0) {
+            return;
+        }
+
+        for (int index : sortedPositions) {
+            unusedBytes += textLengths[index];
+            freeTextTimes.remove(ids[index]);
+        }
+
+        int newSize = size - sortedPositions.length;
+        int write = sortedPositions[0];
+        long[] bits = Arrays.copyOf(completed.get(0, write).toLongArray(), (newSize + 63) >>> 6);
+        for (int i = 0; i < sortedPositions.length; ++i) {
+            int from = sortedPositions[i] + 1;
+            int to = i + 1 < sortedPositions.length ? sortedPositions[i + 1] : size;
+            if (from < to) {
+                moveRows(from, write, to - from);
+                orShifted(bits, completed.get(from, to).toLongArray(), write);
+                write += to - from;
+            }
+        }
+
+        completed.clear();
+        completed.or(BitSet.valueOf(bits));
+        size = newSize;
+        compactIfSparse();
+        ++modCount;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Stores every field of the task apart from its description in the given row.
+     */
+    private void writeRow(int index, Task task) {
+        ids[index] = task.getId();
+        symbols[index] = (byte) task.getTaskSymbol();
+        completed.set(index, task.isCompleted());
+        startMinutes[index] = NO_TIME;
+        endMinutes[index] = NO_TIME;
+
+        if (task instanceof DeadlineTask) {
+            startMinutes[index] = minutesOf(((DeadlineTask) task).getDeadline());
+        } else if (task instanceof EventTask && ((EventTask) task).hasTimes()) {
+            startMinutes[index] = minutesOf(((EventTask) task).getStart());
+            endMinutes[index] = minutesOf(((EventTask) task).getEnd());
+        } else if (task instanceof EventTask) {
+            EventTask event = (EventTask) task;
+            freeTextTimes.put(task.getId(), new String[] {event.getStartTime(), event.getEndTime()});
+        }
+    }
+
+    /**
+     * Appends the description to the arena and points the given row at it.
+     */
+    private void writeText(int index, String description) {
+        byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+        if (arenaLength + bytes.length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arenaLength + bytes.length, arena.length * 2));
+        }
+
+        System.arraycopy(bytes, 0, arena, arenaLength, bytes.length);
+        textOffsets[index] = arenaLength;
+        textLengths[index] = bytes.length;
+        arenaLength += bytes.length;
+    }
+
+    /**
+     * Copies the descriptions still in use into a new arena once most of the arena is unused.
+     */
+    private void compactIfSparse() {
+        if (unusedBytes <= arenaLength - unusedBytes) {
+            return;
+        }
+
+        byte[] compacted = new byte[Math.max(INITIAL_CAPACITY * 32, (arenaLength - unusedBytes) * 2)];
+        int length = 0;
+        for (int i = 0; i < size; ++i) {
+            System.arraycopy(arena, textOffsets[i], compacted, length, textLengths[i]);
+            textOffsets[i] = length;
+            length += textLengths[i];
+        }
+
+        arena = compacted;
+        arenaLength = length;
+        unusedBytes = 0;
+    }
+
+    private void moveRows(int from, int to, int length) {
+        System.arraycopy(ids, from, ids, to, length);
+        System.arraycopy(symbols, from, symbols, to, length);
+        System.arraycopy(startMinutes, from, startMinutes, to, length);
+        System.arraycopy(endMinutes, from, endMinutes, to, length);
+        System.arraycopy(textOffsets, from, textOffsets, to, length);
+        System.arraycopy(textLengths, from, textLengths, to, length);
+    }
+
+    /**
+     * Sets the given bits in the target, starting at the given bit offset.
+     */
+    private static void orShifted(long[] target, long[] words, int offset) {
+        int first = offset >>> 6;
+        int shift = offset & 63;
+        for (int i = 0; i < words.length; ++i) {
+            target[first + i] |= words[i] << shift;
+            if (shift != 0 && first + i + 1 < target.length) {
+                target[first + i + 1] |= words[i] >>> (64 - shift);
+            }
+        }
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        symbols = Arrays.copyOf(symbols, capacity);
+        startMinutes = Arrays.copyOf(startMinutes, capacity);
+        endMinutes = Arrays.copyOf(endMinutes, capacity);
+        textOffsets = Arrays.copyOf(textOffsets, capacity);
+        textLengths = Arrays.copyOf(textLengths, capacity);
+    }
+
+    private static long minutesOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime timeOf(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
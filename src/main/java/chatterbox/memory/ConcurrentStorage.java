@@ -0,0 +1,212 @@
+package chatterbox.memory;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import chatterbox.task.Task;
+
+/**
+ * A {@link Storage} that can be read and modified from many threads at once.
+ *
+ * <p>Reads never take a lock. After every change, the storage publishes an immutable snapshot of
+ * its tasks through a volatile field, copy-on-write style, and each read answers from the
+ * snapshot it finds there. A read therefore always sees one consistent state of the list, and
+ * never holds up a writer, however long it runs. Changes are made to the inherited list one
+ * at a time under a {@link ReentrantLock} that readers never touch.
+ *
+ * <p>Tasks in a snapshot are never changed. Marking a task stores a marked copy of it instead,
+ * so a reader that already holds the task still sees its old status. Each snapshot builds an
+ * index the first time a query needs it, so a query right after a change takes as long as a
+ * scan of the list. Every change copies the list, so this storage suits lists that are read
+ * far more often than they are changed.
+ *
+ * <p>Each call is atomic on its own, but a sequence of calls is not. For example, another thread
+ * may add an equal task between {@link #hasDuplicateTask(Task)} and {@link #addItem(Task)}.
+ */
+public class ConcurrentStorage<T extends Task> extends Storage<T> {
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Storage<T> snapshot = new Storage<>();
+
+    @Override
+    void useItems(List<T> items) {
+        write(() -> {
+            super.useItems(items);
+            return null;
+        });
+    }
+
+    @Override
+    public String displayItems() {
+        return snapshot.displayItems();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The items are written straight from one snapshot, so a slow sink neither holds up
+     * writers nor sees a change made while it is written to.
+     */
+    @Override
+    public void displayItems(Appendable out, int from, int to) throws IOException {
+        snapshot.displayItems(out, from, to);
+    }
+
+    @Override
+    public String displayItems(Character symbol, Boolean isCompleted) {
+        return snapshot.displayItems(symbol, isCompleted);
+    }
+
+    @Override
+    public ArrayList<Task> searchTasksByDescription(String desc) {
+        return snapshot.searchTasksByDescription(desc);
+    }
+
+    @Override
+    public ArrayList<Task> searchTasksApproximately(String term) {
+        return snapshot.searchTasksApproximately(term);
+    }
+
+    @Override
+    public ArrayList<Task> searchTasksDueBefore(LocalDateTime time) {
+        return snapshot.searchTasksDueBefore(time);
+    }
+
+    @Override
+    public ArrayList<Task> searchTasksDueBetween(LocalDateTime start, LocalDateTime end) {
+        return snapshot.searchTasksDueBetween(start, end);
+    }
+
+    @Override
+    public ArrayList<Task> searchUpcomingDeadlines(LocalDateTime time, int count) {
+        return snapshot.searchUpcomingDeadlines(time, count);
+    }
+
+    @Override
+    public ArrayList<Task> searchEventsOverlapping(LocalDateTime start, LocalDateTime end) {
+        return snapshot.searchEventsOverlapping(start, end);
+    }
+
+    @Override
+    public ArrayList<Task> searchEventsOnDay(LocalDate day) {
+        return snapshot.searchEventsOnDay(day);
+    }
+
+    @Override
+    public boolean hasDuplicateTask(Task newTask) {
+        return snapshot.hasDuplicateTask(newTask);
+    }
+
+    @Override
+    public boolean addItem(T item) {
+        return write(() -> super.addItem(item));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Inherited changes look tasks up with this method, so the thread making a change reads
+     * the list being changed instead of the snapshot.
+     */
+    @Override
+    public int indexOfId(long id) {
+        return writeLock.isHeldByCurrentThread() ? super.indexOfId(id) : snapshot.indexOfId(id);
+    }
+
+    @Override
+    public T removeItem(int index) throws IndexOutOfBoundsException {
+        return write(() -> super.removeItem(index));
+    }
+
+    @Override
+    public List<T> removeItems(int[] positions) throws IndexOutOfBoundsException {
+        return write(() -> super.removeItems(positions));
+    }
+
+    @Override
+    public T getItem(int index) throws IndexOutOfBoundsException {
+        return writeLock.isHeldByCurrentThread() ? super.getItem(index) : snapshot.getItem(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The task is replaced by an updated copy, so the task in earlier snapshots is unchanged.
+     */
+    @Override
+    public T updateItemCompletion(int index, boolean isCompleted) throws IndexOutOfBoundsException {
+        return write(() -> {
+            T item = copyOf(super.getItem(index));
+            if (isCompleted) {
+                item.setCompleted();
+            } else {
+                item.setIncomplete();
+            }
+
+            super.replaceItem(index, item);
+            return item;
+        });
+    }
+
+    @Override
+    public List<T> updateItemsCompletion(int[] positions, boolean isCompleted) throws IndexOutOfBoundsException {
+        return write(() -> {
+            for (int index : positions) {
+                Objects.checkIndex(index, super.size());
+            }
+
+            List<T> updated = new ArrayList<>(positions.length);
+            for (int index : positions) {
+                updated.add(updateItemCompletion(index, isCompleted));
+            }
+            return updated;
+        });
+    }
+
+    @Override
+    public int[] findIndexes(Character symbol, Boolean isCompleted) {
+        return snapshot.findIndexes(symbol, isCompleted);
+    }
+
+    @Override
+    public int size() {
+        return writeLock.isHeldByCurrentThread() ? super.size() : snapshot.size();
+    }
+
+    @Override
+    void buildIndexes() {
+        snapshot.buildIndexes();
+    }
+
+    /**
+     * Makes the change under the write lock, then publishes a snapshot of the list once the
+     * outermost change is done, even if the change failed part way.
+     */
+    private <R> R write(Supplier<R> change) {
+        writeLock.lock();
+        try {
+            return change.get();
+        } finally {
+            if (writeLock.getHoldCount() == 1) {
+                publish();
+            }
+            writeLock.unlock();
+        }
+    }
+
+    private void publish() {
+        Storage<T> next = new Storage<>();
+        next.useItems(super.copyItems());
+        snapshot = next;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Task> T copyOf(T task) {
+        return (T) task.copy();
+    }
+}
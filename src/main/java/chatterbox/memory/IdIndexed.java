@@ -0,0 +1,11 @@
+package chatterbox.memory;
+
+/**
+ * A list of tasks that can report the persistent ID at a position without
+ * materializing the {@link chatterbox.task.Task} stored there.
+ *
+ * <p>{@link Storage} uses this when searching for a task by its ID.
+ */
+interface IdIndexed {
+    long idAt(int index);
+}
@@ -0,0 +1,356 @@
+package chatterbox.memory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import chatterbox.task.Task;
+import chatterbox.task.TodoTask;
+
+/**
+ * A list of tasks that are decoded from the text save file only when they are first accessed.
+ *
+ * <p>Opening the list only scans the save file for the offset, ID and status of every line,
+ * without constructing any {@link Task}. A task is decoded from its line the first time it is
+ * read, and kept in a cache that holds at most {@code cacheSize} decoded tasks. Completion
+ * statuses are tracked by the list itself, so a task that is evicted and decoded again keeps
+ * any change made through {@link #set(int, Task)}. Tasks added after the list was opened are
+ * not in the save file's index and are always kept in memory.
+ *
+ * <p>Reading a task reorders the cache, so the cache is synchronized to let several threads
+ * read the list at once, as {@link ConcurrentStorage} does.
+ */
+class LazyTaskList extends AbstractList<Task> implements RandomAccess, IdIndexed, BulkRemovable {
+    private static final int PREFIX_LENGTH = 32;
+
+    private final FileChannel channel;
+    private final Map<Long, Task> cache;
+    private final Map<Long, Task> resident = new HashMap<>();
+
+    private long[] ids;
+    private long[] lineOffsets;
+    private int[] lineLengths;
+    private int[] statusPositions;
+    private boolean[] completed;
+    private int size;
+
+    private LazyTaskList(FileChannel channel, int cacheSize) {
+        this.channel = channel;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Task> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        this.ids = new long[16];
+        this.lineOffsets = new long[16];
+        this.lineLengths = new int[16];
+        this.statusPositions = new int[16];
+        this.completed = new boolean[16];
+    }
+
+    /**
+     * Builds the index of a text save file without decoding any task.
+     * Returns null if the file cannot be indexed lazily, because a line is missing its ID,
+     * looks corrupted or is out of ID order. Such files should be loaded eagerly instead,
+     * which repairs them.
+     *
+     * @param file Text save file to be indexed
+     * @param cacheSize Maximum number of decoded tasks to keep
+     * @return The indexed list, or null if the file has to be loaded eagerly
+     * @throws IOException If the file cannot be read
+     */
+    static LazyTaskList open(File file, int cacheSize) throws IOException {
+        LazyTaskList list = new LazyTaskList(FileChannel.open(file.toPath(), StandardOpenOption.READ), cacheSize);
+
+        if (!list.index(file)) {
+            list.close();
+            return null;
+        }
+        return list;
+    }
+
+    /**
+     * Returns the file offset of the status field of the task at the given index,
+     * or -1 if the task is not in the save file's index.
+     *
+     * @param index Index of the task
+     * @return Offset of the task's status field
+     */
+    long statusOffsetAt(int index) {
+        return lineOffsets[index] < 0 ? -1 : lineOffsets[index] + statusPositions[index];
+    }
+
+    @Override
+    public long idAt(int index) {
+        checkIndex(index);
+        return ids[index];
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        long id = ids[index];
+
+        Task task = resident.get(id);
+        if (task == null) {
+            task = cache.computeIfAbsent(id, key -> decode(index));
+        }
+
+        if (task.isCompleted() != completed[index]) {
+            if (completed[index]) {
+                task.setCompleted();
+            } else {
+                task.setIncomplete();
+            }
+        }
+        return task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        checkIndex(index);
+        Task previous = resident.containsKey(ids[index]) ? resident.get(ids[index]) : cache.get(ids[index]);
+        if (previous == null) {
+            previous = decode(index);
+        }
+
+        ids[index] = task.getId();
+        completed[index] = task.isCompleted();
+        if (lineOffsets[index] < 0) {
+            resident.put(task.getId(), task);
+        } else {
+            cache.put(task.getId(), task);
+        }
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        ensureCapacity(size + 1);
+        shift(index, index + 1, size - index);
+        ids[index] = task.getId();
+        lineOffsets[index] = -1;
+        lineLengths[index] = 0;
+        statusPositions[index] = 0;
+        completed[index] = task.isCompleted();
+        resident.put(task.getId(), task);
+        ++size;
+        ++modCount;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        removeAll(new int[] {index});
+        return removed;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Each run of tasks between two removed positions is shifted once.
+     */
+    @Override
+    public void removeAll(int[] sortedPositions) {
+        BulkRemovable.checkPositions(sortedPositions, size);
+        if (sortedPositions.length == 0) {
+            return;
+        }
+
+        for (int index : sortedPositions) {
+            cache.remove(ids[index]);
+            resident.remove(ids[index]);
+        }
+
+        int write = sortedPositions[0];
+        for (int i = 0; i < sortedPositions.length; ++i) {
+            int from = sortedPositions[i] + 1;
+            int to = i + 1 < sortedPositions.length ? sortedPositions[i + 1] : size;
+            shift(from, write, to - from);
+            write += to - from;
+        }
+
+        size = write;
+        ++modCount;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.out.println("Unable to close task file!");
+        }
+    }
+
+    /**
+     * Scans the file line by line, recording the offset, ID and status of every task.
+     * Only the first few bytes of each line are inspected. Files with more deleted lines
+     * than tasks are left to the eager loader, which compacts them.
+     */
+    private boolean index(File file) throws IOException {
+        byte[] buffer = new byte[1 << 16];
+        byte[] prefix = new byte[PREFIX_LENGTH];
+        int prefixLength = 0;
+        byte last = 0;
+        long lineStart = 0;
+        long position = 0;
+        int deletedLines = 0;
+
+        try (InputStream input = new FileInputStream(file)) {
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                for (int i = 0; i < read; ++i, ++position) {
+                    byte next = buffer[i];
+                    if (next != '\n') {
+                        if (prefixLength < PREFIX_LENGTH) {
+                            prefix[prefixLength++] = next;
+                        }
+                        last = next;
+                        continue;
+                    }
+
+                    int length = (int) (position - lineStart) - (last == '\r' ? 1 : 0);
+                    if (length > 0) {
+                        int result = indexLine(prefix, prefixLength, lineStart, length);
+                        if (result < 0) {
+                            return false;
+                        }
+                        deletedLines += result;
+                    }
+
+                    lineStart = position + 1;
+                    prefixLength = 0;
+                    last = 0;
+                }
+            }
+        }
+
+        int length = (int) (position - lineStart) - (last == '\r' ? 1 : 0);
+        if (length > 0) {
+            int result = indexLine(prefix, prefixLength, lineStart, length);
+            if (result < 0) {
+                return false;
+            }
+            deletedLines += result;
+        }
+        return deletedLines <= size;
+    }
+
+    /**
+     * Records one line of the form {@code <id> | <symbol> | <status> | ...}.
+     * Returns 1 if the line is a deleted task, 0 if it was recorded, and -1 if it cannot be indexed.
+     */
+    private int indexLine(byte[] prefix, int prefixLength, long lineStart, int length) {
+        int position = 0;
+        long id = 0;
+        while (position < prefixLength && prefix[position] >= '0' && prefix[position] <= '9') {
+            id = id * 10 + (prefix[position++] - '0');
+        }
+
+        int statusPosition = position + 7;
+        if (position == 0 || statusPosition >= Math.min(prefixLength, length)
+                || !isSeparator(prefix, position) || !isSeparator(prefix, position + 4)) {
+            return -1;
+        }
+
+        byte symbol = prefix[position + 3];
+        byte status = prefix[statusPosition];
+        if (symbol != 'T' && symbol != 'D' && symbol != 'E') {
+            return -1;
+        }
+        if (status == '-') {
+            return 1;
+        }
+        if (status != '0' && status != '1' || size > 0 && ids[size - 1] >= id) {
+            return -1;
+        }
+
+        ensureCapacity(size + 1);
+        ids[size] = id;
+        lineOffsets[size] = lineStart;
+        lineLengths[size] = length;
+        statusPositions[size] = statusPosition;
+        completed[size] = status == '1';
+        ++size;
+        return 0;
+    }
+
+    private static boolean isSeparator(byte[] prefix, int position) {
+        return prefix[position] == ' ' && prefix[position + 1] == '|' && prefix[position + 2] == ' ';
+    }
+
+    /**
+     * Decodes the task at the given index from its line in the save file.
+     * A line that cannot be decoded is shown as a todo task holding the raw line,
+     * and is dropped the next time the file is loaded eagerly.
+     */
+    private Task decode(int index) {
+        ByteBuffer buffer = ByteBuffer.allocate(lineLengths[index]);
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, lineOffsets[index] + buffer.position()) < 0) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read task from file", e);
+        }
+
+        String line = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        Task task = MemoryStorage.parseTask(line);
+        if (task == null) {
+            task = new TodoTask(line);
+            task.setId(ids[index]);
+        }
+        return task;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        lineOffsets = Arrays.copyOf(lineOffsets, newCapacity);
+        lineLengths = Arrays.copyOf(lineLengths, newCapacity);
+        statusPositions = Arrays.copyOf(statusPositions, newCapacity);
+        completed = Arrays.copyOf(completed, newCapacity);
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(ids, from, ids, to, length);
+        System.arraycopy(lineOffsets, from, lineOffsets, to, length);
+        System.arraycopy(lineLengths, from, lineLengths, to, length);
+        System.arraycopy(statusPositions, from, statusPositions, to, length);
+        System.arraycopy(completed, from, completed, to, length);
+    }
+}
@@ -1,10 +1,18 @@
 package chatterbox.memory;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.util.Scanner;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import chatterbox.exception.ChatterBoxException;
 import chatterbox.task.DeadlineTask;
@@ -22,10 +30,76 @@ import chatterbox.ui.ChatterBoxUI;
  * All methods are static and operate on a shared file located at {@code ./data/tasks.txt}.
  *
  * <p>Tasks are serialized in a simple text format and reconstructed into their corresponding
- * {@link Task} subclasses when loaded.
+ * {@link Task} subclasses when loaded. Each line starts with the task's persistent ID, and
+ * changes to saved tasks are looked up by that ID rather than by the task's position in the list,
+ * see {@link TextTaskFile}. Lines saved before IDs existed are assigned IDs when loaded.
+ *
+ * <p>Every save format is a {@link TaskBackend}, selected at startup by the
+ * {@code chatterbox.storage.format} system property. The text save file is used by default.
+ *
+ * <p>When the {@code chatterbox.storage.journal} system property is {@code true}, mutations
+ * are appended as small records to {@code ./data/tasks_journal.txt} instead of rewriting the
+ * whole task file. The journal is replayed on top of the task file by {@link #loadTasks(Storage)}
+ * and folded back into the task file in the background once it grows past
+ * {@code chatterbox.storage.journal.threshold} bytes, or every
+ * {@code chatterbox.storage.checkpoint.interval} milliseconds if that property is set.
+ * The task file then serves as a snapshot and the journal as the changes made since it was taken,
+ * so recovering from a crash only replays recent changes. Every record carries a checksum,
+ * and replay stops at the first record torn by a crash, see {@link TaskJournal}.
+ * Snapshots are replaced atomically, see {@link AtomicFiles}.
+ *
+ * <p>When the {@code chatterbox.storage.format} system property is {@code binary}, tasks are
+ * kept in the memory-mapped {@code ./data/tasks.bin} file instead, see {@link BinaryTaskFile}.
+ * An existing {@code tasks.txt} is migrated the first time the binary format is used,
+ * and then moved aside to {@code tasks.txt.migrated}.
+ * When it is {@code segmented}, tasks are kept in checksummed segment files under
+ * {@code ./data/segments}, see {@link SegmentedTaskFile}, and migrated in the same way.
+ * When it is {@code btree}, tasks are kept in the page file {@code ./data/tasks.btree},
+ * see {@link BTreeTaskFile}, and migrated in the same way.
+ *
+ * <p>When the {@code chatterbox.storage.lazy} system property is {@code true}, the text save file
+ * is only indexed on startup and tasks are decoded from it when they are first accessed, see
+ * {@link LazyTaskList}. At most {@code chatterbox.storage.lazy.cache} decoded tasks are kept.
+ *
+ * <p>When the {@code chatterbox.storage.durability} system property is set, changes are handed
+ * to a background {@link PersistenceWriter} and written in group commits, so commands return
+ * as soon as the virtual storage object is updated. Call {@link #flush()} before exiting.
+ *
+ * <p>Changes made between {@link #beginBatch()} and {@link #endBatch()} are held back and written
+ * together when the batch ends, or every {@code chatterbox.storage.batch.chunk} changes if that
+ * property is set, so a script of many commands costs one write instead of one per command.
  */
 public class MemoryStorage {
+    private static final long DEFAULT_JOURNAL_THRESHOLD = 64 * 1024;
+    private static final int DEFAULT_LAZY_CACHE_SIZE = 4096;
+
     private static File taskFile = new File("./data/tasks.txt");
+    private static File binaryFile = new File("./data/tasks.bin");
+    private static File bTreeFile = new File("./data/tasks.btree");
+    private static final TaskJournal journal = new TaskJournal(new File("./data/tasks_journal.txt"), taskFile);
+    private static boolean isJournalMode = Boolean.getBoolean("chatterbox.storage.journal");
+    private static boolean isBinaryFormat = "binary".equals(System.getProperty("chatterbox.storage.format"));
+    private static boolean isSegmentedFormat = "segmented".equals(System.getProperty("chatterbox.storage.format"));
+    private static boolean isBTreeFormat = "btree".equals(System.getProperty("chatterbox.storage.format"));
+    private static boolean isLazyLoading = Boolean.getBoolean("chatterbox.storage.lazy");
+    private static int lazyCacheSize = Integer.getInteger("chatterbox.storage.lazy.cache", DEFAULT_LAZY_CACHE_SIZE);
+    private static SegmentedTaskFile segmentedTaskFile = new SegmentedTaskFile(new File("./data/segments"));
+    private static TextTaskFile textTaskFile;
+    private static TaskBackend backend;
+    private static PersistenceWriter persistenceWriter;
+    private static long journalThreshold = Long.getLong("chatterbox.storage.journal.threshold",
+            DEFAULT_JOURNAL_THRESHOLD);
+    private static long checkpointInterval = Long.getLong("chatterbox.storage.checkpoint.interval", 0);
+    private static int batchChunkSize = Integer.getInteger("chatterbox.storage.batch.chunk", 0);
+    private static List<Mutation> pendingBatch;
+    private static int batchDepth;
+
+    private static final AtomicBoolean isCompactionScheduled = new AtomicBoolean(false);
+    private static final ScheduledExecutorService compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chatterbox-journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     static {
         try {
@@ -34,163 +108,416 @@ public class MemoryStorage {
         } catch (IOException e) {
             System.out.println("Unable to create data folder to save tasks!");
         }
+
+        String durability = System.getProperty("chatterbox.storage.durability");
+        if (durability != null) {
+            persistenceWriter = PersistenceWriter.start(durability, MemoryStorage::commit, MemoryStorage::sync);
+
+            if (persistenceWriter == null) {
+                System.out.println("Unknown durability policy " + durability + "! Writing changes synchronously.");
+            }
+        }
+
+        if (isJournalMode && checkpointInterval > 0) {
+            compactor.scheduleWithFixedDelay(MemoryStorage::checkpoint, checkpointInterval, checkpointInterval,
+                    TimeUnit.MILLISECONDS);
+        }
     }
 
     /**
      * Creates and stores tasks stored in the hard drive into the storage object.
      * If memory file is corrupted, task is skipped and removed from memory.
      * Alerts user via the command line interface if data is corrupted.
-     * If file is corrupted, a temporary memory file is generated for the user.
+     * The task file is only rewritten if corrupted tasks were found.
      *
      * @param storage Storage object in which Task objects are stored in
      */
     public static void loadTasks(Storage<Task> storage) {
         assert storage != null : "Storage must not be null";
 
-        File tempFile = new File("./data/tasks_tmp.txt");
-        boolean isCorruptedFile = false;
-
-        try (Scanner scanner = new Scanner(taskFile);
-             PrintWriter writer = new PrintWriter(new FileWriter(tempFile))) {
-
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-
-                if (!initializeTask(storage, line)) {
-                    isCorruptedFile = true;
-                    continue;
-                }
-                writer.println(line);
-            }
+        if (isJournalMode && isTextFormat()) {
+            loadJournaledTasks(storage);
+            return;
+        }
 
-            if (isCorruptedFile) {
-                ChatterBoxUI.reply("Save file is corrupted! Corrupted tasks have been deleted.");
+        try {
+            migrateTextFile();
+        } catch (IOException e) {
+            System.out.println("Unable to migrate task file to the "
+                    + System.getProperty("chatterbox.storage.format") + " format!");
+            return;
+        }
 
-                if (!taskFile.delete() || !tempFile.renameTo(taskFile)) {
-                    System.out.println("File update failed! Task data may be inconsistent.");
+        getBackend().ifPresent(taskBackend -> {
+            try {
+                if (taskBackend.load(storage)) {
+                    ChatterBoxUI.reply(isSegmentedFormat
+                            ? "Save file is corrupted! Damaged segments have been repaired."
+                            : "Save file is corrupted! Corrupted tasks have been deleted.");
                 }
-            } else {
-                tempFile.delete();
+            } catch (IOException e) {
+                System.out.println("Unable to find task file from memory!");
             }
-        } catch (IOException e) {
-            System.out.println("Unable to find task file from memory!");
-        }
+        });
     }
 
     /**
      * Updates the task's completion status in memory.
-     * Task is accessed based on its index in the virtual storage object.
-     * If index is invalid, memory will not be updated.
+     * Task is accessed based on its persistent ID.
+     * If no saved task has the ID, memory will not be updated.
      *
-     * @param index Index in which the task is stored in memory
+     * @param id Persistent ID of the task
      * @param isCompleted Completion status to set the selected task to
      */
-    public static void updateTaskCompletion(int index, boolean isCompleted) {
-        File tempFile = new File("./data/tasks_tmp.txt");
-        int currentLine = 0;
+    public static void updateTaskCompletion(long id, boolean isCompleted) {
+        submit(Mutation.status(id, isCompleted));
+    }
 
-        try (Scanner scanner = new Scanner(taskFile);
-             PrintWriter writer = new PrintWriter(new FileWriter(tempFile))) {
+    /**
+     * Adds and stores a new task into memory.
+     * Warns the user via the command line interface if task cannot be saved.
+     *
+     * @param task Task to be saved into memory
+     */
+    public static void saveTask(Task task) {
+        submit(Mutation.add(serializeTask(task)));
+    }
 
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
+    /**
+     * Deletes the task that is stored in memory.
+     * Task to be deleted is accessed based on its persistent ID.
+     * No task will be deleted if no saved task has the ID.
+     *
+     * @param id Persistent ID of the task
+     */
+    public static void deleteTask(long id) {
+        submit(Mutation.delete(id));
+    }
 
-                if (currentLine == index) {
-                    line = updateTask(line, isCompleted);
-                }
+    /**
+     * Blocks until every change made so far has been written and synced to the storage device.
+     * Should be called before the application exits.
+     */
+    public static void flush() {
+        if (persistenceWriter != null) {
+            persistenceWriter.flush();
+            return;
+        }
 
-                ++currentLine;
-                writer.println(line);
+        sync();
+    }
+
+    /**
+     * Starts holding back changes until the matching call to {@link #endBatch()}.
+     * Batches may be nested, in which case the changes are written when the outermost batch ends.
+     */
+    public static void beginBatch() {
+        if (batchDepth++ == 0) {
+            pendingBatch = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Ends a batch started by {@link #beginBatch()}, writing every change held back by the
+     * outermost batch in one commit.
+     */
+    public static void endBatch() {
+        if (batchDepth == 0 || --batchDepth > 0) {
+            return;
+        }
+
+        List<Mutation> batch = pendingBatch;
+        pendingBatch = null;
+        submitAll(batch);
+    }
+
+    /**
+     * Writes a change to memory, either directly or through the background writer
+     * when a durability policy is configured. Changes made during a batch are held back instead.
+     *
+     * @param mutation Change to be written
+     */
+    private static void submit(Mutation mutation) {
+        if (pendingBatch != null) {
+            pendingBatch.add(mutation);
+            if (batchChunkSize > 0 && pendingBatch.size() >= batchChunkSize) {
+                submitAll(pendingBatch);
+                pendingBatch = new ArrayList<>();
             }
-        } catch (IOException e) {
-            System.out.println("Unable to find file!");
+            return;
         }
 
-        if (!taskFile.delete()) {
-            System.out.println("Unable to delete original file to update task completion!");
+        if (persistenceWriter != null) {
+            persistenceWriter.submit(mutation);
             return;
         }
 
-        if (!tempFile.renameTo(taskFile)) {
-            System.out.println("Could not rename temp file to update task completion!");
+        commit(List.of(mutation));
+    }
+
+    private static void submitAll(List<Mutation> batch) {
+        if (batch.isEmpty()) {
+            return;
         }
+
+        if (persistenceWriter != null) {
+            batch.forEach(persistenceWriter::submit);
+            return;
+        }
+
+        commit(batch);
     }
 
     /**
-     * Adds and stores a new task into memory.
-     * Warns the user via the command line interface if task cannot be saved.
+     * Writes a batch of changes to memory with as few writes as the save format allows.
      *
-     * @param task Task to be saved into memory
+     * @param batch Changes to be written, in order
      */
-    public static void saveTask(Task task) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(taskFile, true))) {
-            String line = task.getTaskSymbol() + " | "
-                    + (task.getStatusIcon().equals("X") ? "1" : "0") + " | "
-                    + task.getTaskDescription();
-
-            if (task instanceof DeadlineTask) {
-                DeadlineTask tempTask = (DeadlineTask) task;
-                line += " | " + tempTask.serializeDeadline();
-            } else if (task instanceof EventTask) {
-                EventTask tempTask = (EventTask) task;
-                line += " | " + tempTask.getStartTime() + " | " + tempTask.getEndTime();
+    private static void commit(List<Mutation> batch) {
+        if (isJournalMode && isTextFormat()) {
+            appendToJournal(batch);
+            return;
+        }
+
+        getBackend().ifPresent(taskBackend -> {
+            try {
+                taskBackend.commit(batch);
+            } catch (IOException e) {
+                System.out.println("Could not save changes to file!");
             }
+        });
+    }
 
-            writer.println(line);
-        } catch (IOException e) {
-            System.out.println("Could not save new task to file!");
+    /**
+     * Forces the files written by {@link #commit(List)} onto the storage device.
+     */
+    private static void sync() {
+        if (isJournalMode && isTextFormat()) {
+            try {
+                journal.force();
+            } catch (IOException e) {
+                System.out.println("Unable to sync journal to disk!");
+            }
+            return;
         }
+
+        getBackend().ifPresent(taskBackend -> {
+            try {
+                taskBackend.force();
+            } catch (IOException e) {
+                System.out.println("Unable to sync task file to disk!");
+            }
+        });
+    }
+
+    private static boolean isTextFormat() {
+        return !isBinaryFormat && !isSegmentedFormat && !isBTreeFormat;
     }
 
     /**
-     * Deletes the task that is stored in memory.
-     * Task to be deleted is accessed based on its index in the virtual storage object.
-     * No task will be deleted if index is invalid.
+     * Copies the tasks in the text save file into the selected save format,
+     * if that format has not been used before.
+     * The text save file is then moved aside to {@code tasks.txt.migrated} as it was, so it is
+     * neither migrated again nor mistaken for the current tasks. Corrupted lines cannot be
+     * migrated and are reported to the user, who can still recover them from the moved file.
      *
-     * @param index Index in which the task is stored in the virtual storage object
+     * @throws IOException If the text save file cannot be read or the new format cannot be written
      */
-    public static void deleteTask(int index) {
-        File tempFile = new File("./data/tasks_tmp.txt");
-        int currentLine = 0;
+    private static void migrateTextFile() throws IOException {
+        if (isTextFormat() || taskFile.length() == 0) {
+            return;
+        }
 
-        try (Scanner scanner = new Scanner(taskFile);
-            PrintWriter writer = new PrintWriter(new FileWriter(tempFile))) {
+        boolean isMigrated = isBinaryFormat
+                ? binaryFile.exists()
+                : isSegmentedFormat ? !segmentedTaskFile.isEmpty() : bTreeFile.exists();
+        if (isMigrated) {
+            return;
+        }
+
+        ParallelTaskLoader.LoadResult result = ParallelTaskLoader.load(taskFile);
+        List<Task> tasks = result.getTasks();
+        int parsedCount = tasks.size();
+        assignMissingIds(tasks);
+        dropDuplicateIds(tasks);
+        int skippedLines = result.getCorruptedLines() + parsedCount - tasks.size();
+
+        if (isBinaryFormat) {
+            BinaryTaskFile.writeAll(binaryFile, tasks);
+        } else if (isSegmentedFormat) {
+            segmentedTaskFile.writeAll(tasks);
+        } else {
+            BTreeTaskFile.writeAll(bTreeFile, tasks);
+        }
 
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
+        File migratedFile = new File(taskFile.getPath() + ".migrated");
+        AtomicFiles.move(taskFile.toPath(), migratedFile.toPath());
+        taskFile.createNewFile();
+
+        if (skippedLines > 0) {
+            ChatterBoxUI.reply("Save file is corrupted! " + skippedLines + " corrupted tasks could not be migrated. "
+                    + "The old save file is kept at " + migratedFile.getPath() + ".");
+        }
+    }
 
-                if (currentLine == index) {
-                    ++currentLine;
-                    continue;
+    /**
+     * Returns the text save file, creating its index on first use.
+     *
+     * @return The text save file
+     */
+    private static TextTaskFile getTextTaskFile() {
+        if (textTaskFile == null) {
+            textTaskFile = new TextTaskFile(taskFile, isLazyLoading ? lazyCacheSize : 0);
+        }
+
+        return textTaskFile;
+    }
+
+    /**
+     * Returns the backend of the selected save format, opening it on first use.
+     *
+     * @return The opened backend, or an empty Optional if it cannot be opened
+     */
+    private static Optional<TaskBackend> getBackend() {
+        if (backend == null) {
+            try {
+                if (isBinaryFormat) {
+                    backend = BinaryTaskFile.open(binaryFile);
+                } else if (isSegmentedFormat) {
+                    backend = segmentedTaskFile;
+                } else if (isBTreeFormat) {
+                    backend = BTreeTaskFile.open(bTreeFile);
+                } else {
+                    backend = getTextTaskFile();
                 }
+            } catch (IOException e) {
+                System.out.println("Unable to open task file!");
+            }
+        }
+
+        return Optional.ofNullable(backend);
+    }
 
-                ++currentLine;
-                writer.println(line);
+    /**
+     * Loads the task file, replays the journal on top of it and adds the resulting tasks
+     * into the storage object, as described in {@link TaskJournal#load(Storage)}.
+     *
+     * @param storage Storage object in which Task objects are stored in
+     */
+    private static void loadJournaledTasks(Storage<Task> storage) {
+        try {
+            if (journal.load(storage)) {
+                ChatterBoxUI.reply("Save file is corrupted! Corrupted tasks have been deleted.");
             }
         } catch (IOException e) {
-            System.out.println("Unable to find file!");
+            System.out.println("Unable to find task file from memory!");
+            return;
         }
 
-        if (!taskFile.delete()) {
-            System.out.println("Unable to delete original file to update task deletion!");
+        scheduleCompactionIfNeeded();
+    }
+
+    /**
+     * Appends changes to the journal and schedules a compaction if the journal has grown too large.
+     *
+     * @param batch Changes to be appended, in order
+     */
+    private static void appendToJournal(List<Mutation> batch) {
+        try {
+            journal.append(batch);
+        } catch (IOException e) {
+            System.out.println("Could not write change to journal!");
             return;
         }
 
-        if (!tempFile.renameTo(taskFile)) {
-            System.out.println("Could not rename temp file to update task deletion!");
+        scheduleCompactionIfNeeded();
+    }
+
+    /**
+     * Schedules a background compaction once the journal passes the configured threshold.
+     * At most one compaction is pending at any time.
+     */
+    private static void scheduleCompactionIfNeeded() {
+        if (journal.length() < journalThreshold || !isCompactionScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        compactor.execute(() -> {
+            try {
+                compactJournal();
+            } finally {
+                isCompactionScheduled.set(false);
+            }
+        });
+    }
+
+    /**
+     * Takes a new snapshot if any change was journaled since the last one.
+     * Runs periodically on the compactor thread when a checkpoint interval is configured.
+     */
+    private static void checkpoint() {
+        if (journal.length() == 0 || !isCompactionScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            compactJournal();
+        } finally {
+            isCompactionScheduled.set(false);
+        }
+    }
+
+    /**
+     * Folds the journal into the task file, which becomes the new snapshot,
+     * see {@link TaskJournal#compact()}.
+     */
+    private static void compactJournal() {
+        try {
+            journal.compact();
+        } catch (IOException e) {
+            System.out.println("Unable to compact journal! Changes are still kept in the journal.");
         }
     }
 
     /**
-     * Creates a task object from memory and adds it into the storage object.
-     * If memory is corrupted, the task object is not constructed.
+     * Returns the serialized form of a task as stored in the task file.
+     *
+     * @param task Task to be serialized
+     * @return String that contains the serialized task information
+     */
+    static String serializeTask(Task task) {
+        String line = (task.getId() > 0 ? task.getId() + " | " : "")
+                + task.getTaskSymbol() + " | "
+                + (task.isCompleted() ? "1" : "0") + " | "
+                + task.getTaskDescription();
+
+        if (task instanceof DeadlineTask) {
+            DeadlineTask tempTask = (DeadlineTask) task;
+            line += " | " + tempTask.serializeDeadline();
+        } else if (task instanceof EventTask) {
+            EventTask tempTask = (EventTask) task;
+            line += " | " + tempTask.getStartTime() + " | " + tempTask.getEndTime();
+        }
+
+        return line;
+    }
+
+    /**
+     * Returns the task object described by a line of the task file.
+     * Returns null if the line is corrupted or marks a deleted task.
      *
-     * @param storage Storage object in which Task objects are stored in
      * @param input Data stored in the memory that corresponds to a task object
+     * @return Task object constructed from the data, or null if the data is corrupted
      */
-    private static boolean initializeTask(Storage<Task> storage, String input) {
+    static Task parseTask(String input) {
         try {
-            String[] tokens = input.split(" \\| ");
+            String[] tokens = splitFields(input);
+            long id = 0;
+            if (isId(tokens[0])) {
+                id = Long.parseLong(tokens[0]);
+                tokens = Arrays.copyOfRange(tokens, 1, tokens.length);
+            }
+
             char taskType = tokens[0].charAt(0);
             String completed = tokens[1];
             String description = tokens[2];
@@ -204,40 +531,151 @@ public class MemoryStorage {
                 throw new ChatterBoxException("Corrupted save file. Completion status is invalid.");
             }
 
+            Task task;
             switch (taskType) {
             case 'T':
-                storage.addItem(new TodoTask(description, isCompleted));
-                return true;
+                task = new TodoTask(description, isCompleted);
+                break;
             case 'D':
                 String deadline = tokens[3];
-                storage.addItem(new DeadlineTask(description, deadline, isCompleted));
-                return true;
+                task = new DeadlineTask(description, deadline, isCompleted);
+                break;
             case 'E':
                 String startTime = tokens[3];
                 String endTime = tokens[4];
-                storage.addItem(new EventTask(description, startTime, endTime, isCompleted));
-                return true;
+                task = new EventTask(description, startTime, endTime, isCompleted);
+                break;
 
             default:
-                return false;
+                return null;
             }
-        } catch (IndexOutOfBoundsException | ChatterBoxException e) {
+
+            task.setId(id);
+            return task;
+        } catch (IndexOutOfBoundsException | NumberFormatException | DateTimeException | ChatterBoxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the persistent ID a line of the task file starts with, or 0 if it has none.
+     *
+     * @param line Serialized task line
+     * @return Persistent ID of the task
+     */
+    static long idOf(String line) {
+        int separator = line.indexOf(" | ");
+        if (separator < 0 || !isId(line.substring(0, separator))) {
+            return 0;
+        }
+
+        return Long.parseLong(line.substring(0, separator));
+    }
+
+    /**
+     * Returns the offset of the status field within a line of the task file that starts with an ID,
+     * or -1 if the line has no ID. Everything before the status field is ASCII, so the
+     * offset is the same in characters and in UTF-8 bytes.
+     *
+     * @param line Serialized task line
+     * @return Offset of the status field, or -1
+     */
+    static int statusOffsetOf(String line) {
+        if (idOf(line) <= 0) {
+            return -1;
+        }
+
+        int symbolStart = line.indexOf(" | ") + 3;
+        int statusSeparator = line.indexOf(" | ", symbolStart);
+        return statusSeparator < 0 ? -1 : statusSeparator + 3;
+    }
+
+    /**
+     * Returns true if a line of the task file marks a task that has been deleted.
+     *
+     * @param line Serialized task line
+     * @return true if the line belongs to a deleted task
+     */
+    static boolean isDeletedLine(String line) {
+        int statusOffset = statusOffsetOf(line);
+        return statusOffset >= 0 && line.startsWith("- ", statusOffset);
+    }
+
+    /**
+     * Assigns IDs to tasks loaded from lines saved without one.
+     * New IDs follow the largest ID among the tasks, in the order the tasks are given.
+     *
+     * @param tasks Tasks loaded from memory
+     * @return true if any task was assigned an ID
+     */
+    static boolean assignMissingIds(List<Task> tasks) {
+        long nextId = 1;
+        boolean hasMissingIds = false;
+
+        for (Task task : tasks) {
+            nextId = Math.max(nextId, task.getId() + 1);
+            hasMissingIds |= task.getId() <= 0;
+        }
+
+        if (hasMissingIds) {
+            for (Task task : tasks) {
+                if (task.getId() <= 0) {
+                    task.setId(nextId++);
+                }
+            }
+        }
+
+        return hasMissingIds;
+    }
+
+    /**
+     * Drops every task loaded with the same ID as a task before it, which only happens
+     * if the save file was corrupted or edited by hand.
+     *
+     * @param tasks Tasks loaded from memory, which must all have IDs
+     * @return true if any task was dropped
+     */
+    static boolean dropDuplicateIds(List<Task> tasks) {
+        Set<Long> ids = new HashSet<>();
+        return tasks.removeIf(task -> !ids.add(task.getId()));
+    }
+
+    private static boolean isId(String field) {
+        if (field.isEmpty() || field.length() > 18) {
             return false;
         }
+
+        for (int i = 0; i < field.length(); ++i) {
+            if (field.charAt(i) < '0' || field.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Returns a String to be stored in memory for a task.
-     * The String returned depends on the completion status given.
+     * Returns the fields of a serialized task line, separated by {@code " | "}.
+     * Trailing empty fields are dropped, as with {@link String#split(String)}.
      *
-     * @param task Task to be serialized and stored in the memory
-     * @param isCompleted Completion status of the corresponding task
-     * @return String that contains the serialized task information
+     * @param line Serialized task line
+     * @return Fields of the line
      */
-    private static String updateTask(String task, boolean isCompleted) {
-        String[] tokens = task.split(" \\| ");
-        tokens[1] = isCompleted ? "1" : "0";
+    private static String[] splitFields(String line) {
+        List<String> fields = new ArrayList<>(5);
+        int start = 0;
+        int separator;
+
+        while ((separator = line.indexOf(" | ", start)) != -1) {
+            fields.add(line.substring(start, separator));
+            start = separator + 3;
+        }
+        fields.add(line.substring(start));
+
+        int size = fields.size();
+        while (size > 0 && fields.get(size - 1).isEmpty()) {
+            --size;
+        }
 
-        return String.join(" | ", tokens);
+        return fields.subList(0, size).toArray(new String[0]);
     }
 }
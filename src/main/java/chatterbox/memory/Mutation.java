@@ -0,0 +1,60 @@
+package chatterbox.memory;
+
+/**
+ * A single change to the tasks kept in persistent memory.
+ *
+ * <p>Tasks are captured in their serialized form when the {@code Mutation} is created,
+ * so later changes to the {@code Task} object do not leak into a pending write.
+ * Status changes and deletions refer to tasks by their persistent ID.
+ */
+class Mutation {
+    /**
+     * Kinds of changes that can be made to persistent memory.
+     * {@code FLUSH} carries no change and only asks for pending changes to be made durable.
+     */
+    enum Type { ADD, STATUS, DELETE, FLUSH }
+
+    private final Type type;
+    private final long id;
+    private final boolean isCompleted;
+    private final String line;
+
+    private Mutation(Type type, long id, boolean isCompleted, String line) {
+        this.type = type;
+        this.id = id;
+        this.isCompleted = isCompleted;
+        this.line = line;
+    }
+
+    static Mutation add(String line) {
+        return new Mutation(Type.ADD, -1, false, line);
+    }
+
+    static Mutation status(long id, boolean isCompleted) {
+        return new Mutation(Type.STATUS, id, isCompleted, null);
+    }
+
+    static Mutation delete(long id) {
+        return new Mutation(Type.DELETE, id, false, null);
+    }
+
+    static Mutation flush() {
+        return new Mutation(Type.FLUSH, -1, false, null);
+    }
+
+    Type getType() {
+        return this.type;
+    }
+
+    long getId() {
+        return this.id;
+    }
+
+    boolean isCompleted() {
+        return this.isCompleted;
+    }
+
+    String getLine() {
+        return this.line;
+    }
+}
@@ -0,0 +1,226 @@
+package chatterbox.memory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import chatterbox.task.Task;
+
+/**
+ * Loads a text save file by parsing large chunks of it in parallel.
+ *
+ * <p>The file is split into chunks of roughly {@code chatterbox.storage.loader.chunk} bytes
+ * whose boundaries are moved forward to the next line break, so that no line spans two chunks.
+ * Chunks are read with positional NIO reads and parsed on the common fork-join pool.
+ * The parsed tasks are returned in the same order as the lines in the file, together with
+ * the file offset of each task's status field so it can later be updated in place.
+ */
+public class ParallelTaskLoader {
+    private static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+    private static final int BOUNDARY_WINDOW = 4096;
+
+    private static int defaultChunkSize = Integer.getInteger("chatterbox.storage.loader.chunk", DEFAULT_CHUNK_SIZE);
+
+    /**
+     * Holds the tasks parsed from a save file, the file offsets of their status fields,
+     * and the number of corrupted and deleted lines skipped.
+     */
+    public static class LoadResult {
+        private final List<Task> tasks;
+        private final long[] statusOffsets;
+        private final int corruptedLines;
+        private final int deletedLines;
+
+        private LoadResult(List<Task> tasks, long[] statusOffsets, int corruptedLines, int deletedLines) {
+            this.tasks = tasks;
+            this.statusOffsets = statusOffsets;
+            this.corruptedLines = corruptedLines;
+            this.deletedLines = deletedLines;
+        }
+
+        public List<Task> getTasks() {
+            return this.tasks;
+        }
+
+        /**
+         * Returns the byte offset of the status field of each task, in the same order as
+         * {@link #getTasks()}. The offset is -1 for lines saved without an ID.
+         *
+         * @return Status field offsets
+         */
+        public long[] getStatusOffsets() {
+            return this.statusOffsets;
+        }
+
+        public int getCorruptedLines() {
+            return this.corruptedLines;
+        }
+
+        public int getDeletedLines() {
+            return this.deletedLines;
+        }
+
+        public boolean isCorrupted() {
+            return this.corruptedLines > 0;
+        }
+    }
+
+    /**
+     * Parses every line of the given save file into a task.
+     * Corrupted and deleted lines are skipped and counted.
+     *
+     * @param file Text save file to be loaded
+     * @return Parsed tasks in file order and the number of corrupted lines
+     * @throws IOException If the file cannot be read
+     */
+    public static LoadResult load(File file) throws IOException {
+        return load(file, defaultChunkSize);
+    }
+
+    /**
+     * Parses every line of the given save file into a task, splitting the file into chunks
+     * of roughly the given size.
+     *
+     * @param file Text save file to be loaded
+     * @param chunkSize Size of each chunk in bytes, before its end is moved to the next line break
+     * @return Parsed tasks in file order and the number of corrupted lines
+     * @throws IOException If the file cannot be read
+     */
+    static LoadResult load(File file, int chunkSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            List<long[]> ranges = splitIntoRanges(channel, chunkSize);
+
+            List<LoadResult> chunks = ranges.parallelStream()
+                    .map(range -> parseRange(channel, range[0], range[1]))
+                    .collect(Collectors.toList());
+
+            List<Task> tasks = new ArrayList<>();
+            long[] statusOffsets = new long[chunks.stream().mapToInt(chunk -> chunk.tasks.size()).sum()];
+            int corruptedLines = 0;
+            int deletedLines = 0;
+            for (LoadResult chunk : chunks) {
+                System.arraycopy(chunk.statusOffsets, 0, statusOffsets, tasks.size(), chunk.tasks.size());
+                tasks.addAll(chunk.tasks);
+                corruptedLines += chunk.corruptedLines;
+                deletedLines += chunk.deletedLines;
+            }
+
+            return new LoadResult(tasks, statusOffsets, corruptedLines, deletedLines);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns the [start, end) byte ranges of the chunks, each ending just after a line break
+     * or at the end of the file.
+     */
+    private static List<long[]> splitIntoRanges(FileChannel channel, int chunkSize) throws IOException {
+        long size = channel.size();
+        List<long[]> ranges = new ArrayList<>();
+        long start = 0;
+
+        while (start < size) {
+            long end = Math.min(start + chunkSize, size);
+
+            if (end < size) {
+                end = findLineEnd(channel, end, size);
+            }
+
+            ranges.add(new long[] {start, end});
+            start = end;
+        }
+
+        return ranges;
+    }
+
+    /**
+     * Returns the position just after the first line break at or after the given position.
+     */
+    private static long findLineEnd(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(BOUNDARY_WINDOW);
+
+        while (position < size) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) {
+                break;
+            }
+
+            for (int i = 0; i < read; ++i) {
+                if (window.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+
+        return size;
+    }
+
+    private static LoadResult parseRange(FileChannel channel, long start, long end) {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] bytes = buffer.array();
+        int length = buffer.position();
+        List<Task> tasks = new ArrayList<>();
+        long[] statusOffsets = new long[16];
+        int corruptedLines = 0;
+        int deletedLines = 0;
+        int lineStart = 0;
+
+        for (int i = 0; i <= length; ++i) {
+            if (i < length && bytes[i] != '\n') {
+                continue;
+            }
+
+            int lineEnd = i;
+            if (lineEnd > lineStart && bytes[lineEnd - 1] == '\r') {
+                --lineEnd;
+            }
+
+            if (lineEnd > lineStart) {
+                String line = new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+                Task task = MemoryStorage.parseTask(line);
+
+                if (task != null) {
+                    if (tasks.size() == statusOffsets.length) {
+                        statusOffsets = Arrays.copyOf(statusOffsets, tasks.size() * 2);
+                    }
+
+                    int statusOffset = MemoryStorage.statusOffsetOf(line);
+                    statusOffsets[tasks.size()] = statusOffset < 0 ? -1 : start + lineStart + statusOffset;
+                    tasks.add(task);
+                } else if (MemoryStorage.isDeletedLine(line)) {
+                    ++deletedLines;
+                } else {
+                    ++corruptedLines;
+                }
+            } else if (i < length) {
+                ++corruptedLines;
+            }
+
+            lineStart = i + 1;
+        }
+
+        return new LoadResult(tasks, statusOffsets, corruptedLines, deletedLines);
+    }
+}
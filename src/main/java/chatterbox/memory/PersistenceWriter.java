@@ -0,0 +1,161 @@
+package chatterbox.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A background thread that writes changes to persistent memory in group commits.
+ *
+ * <p>Changes are queued by {@link #submit(Mutation)}, which returns immediately. The writer
+ * thread drains every queued change into one batch, commits the batch with a single write,
+ * and then makes it durable according to its {@link Durability} policy:
+ * <ul>
+ *  <li>{@code fsync-every-op}: every batch is synced before the next one is written</li>
+ *  <li>{@code fsync-every-N-ms}: written batches are synced at most once every N milliseconds</li>
+ *  <li>{@code os-buffered}: batches are left to the operating system and only synced on flush</li>
+ * </ul>
+ */
+class PersistenceWriter {
+    private static final Pattern INTERVAL_POLICY = Pattern.compile("fsync-every-(\\d+)-ms");
+
+    /**
+     * How eagerly committed batches are synced to the storage device.
+     */
+    enum Durability { FSYNC_EVERY_OP, FSYNC_INTERVAL, OS_BUFFERED }
+
+    private final BlockingQueue<Mutation> queue = new LinkedBlockingQueue<>();
+    private final Consumer<List<Mutation>> committer;
+    private final Runnable syncer;
+    private final Durability durability;
+    private final long intervalMillis;
+
+    private long submittedCount;
+    private long completedCount;
+
+    private PersistenceWriter(Consumer<List<Mutation>> committer, Runnable syncer,
+            Durability durability, long intervalMillis) {
+        this.committer = committer;
+        this.syncer = syncer;
+        this.durability = durability;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Starts a writer for the given durability policy.
+     * Returns null if the policy is not recognised.
+     *
+     * @param policy One of {@code fsync-every-op}, {@code fsync-every-N-ms} or {@code os-buffered}
+     * @param committer Writes a batch of changes to persistent memory
+     * @param syncer Forces committed changes onto the storage device
+     * @return The started writer, or null if the policy is invalid
+     */
+    static PersistenceWriter start(String policy, Consumer<List<Mutation>> committer, Runnable syncer) {
+        PersistenceWriter writer;
+        Matcher matcher = INTERVAL_POLICY.matcher(policy);
+
+        if (policy.equals("fsync-every-op")) {
+            writer = new PersistenceWriter(committer, syncer, Durability.FSYNC_EVERY_OP, 0);
+        } else if (policy.equals("os-buffered")) {
+            writer = new PersistenceWriter(committer, syncer, Durability.OS_BUFFERED, 0);
+        } else if (matcher.matches()) {
+            writer = new PersistenceWriter(committer, syncer, Durability.FSYNC_INTERVAL,
+                    Long.parseLong(matcher.group(1)));
+        } else {
+            return null;
+        }
+
+        Thread thread = new Thread(writer::run, "chatterbox-persistence-writer");
+        thread.setDaemon(true);
+        thread.start();
+        return writer;
+    }
+
+    /**
+     * Queues a change to be written by the writer thread.
+     *
+     * @param mutation Change to be written
+     */
+    synchronized void submit(Mutation mutation) {
+        ++submittedCount;
+        queue.add(mutation);
+    }
+
+    /**
+     * Blocks until every change submitted so far has been written and synced.
+     */
+    void flush() {
+        long target;
+        synchronized (this) {
+            submit(Mutation.flush());
+            target = submittedCount;
+        }
+
+        synchronized (this) {
+            while (completedCount < target) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void run() {
+        List<Mutation> batch = new ArrayList<>();
+        boolean isDirty = false;
+        long lastSync = System.currentTimeMillis();
+
+        while (true) {
+            try {
+                Mutation first = durability == Durability.FSYNC_INTERVAL && isDirty
+                        ? queue.poll(Math.max(1, intervalMillis - (System.currentTimeMillis() - lastSync)),
+                                TimeUnit.MILLISECONDS)
+                        : queue.take();
+
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch);
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            int batchSize = batch.size();
+            boolean isFlushRequested = batch.stream().anyMatch(m -> m.getType() == Mutation.Type.FLUSH);
+            batch.removeIf(m -> m.getType() == Mutation.Type.FLUSH);
+
+            try {
+                if (!batch.isEmpty()) {
+                    committer.accept(batch);
+                    isDirty = true;
+                }
+
+                boolean isSyncDue = durability == Durability.FSYNC_EVERY_OP
+                        || durability == Durability.FSYNC_INTERVAL
+                                && System.currentTimeMillis() - lastSync >= intervalMillis;
+
+                if (isDirty && (isFlushRequested || isSyncDue)) {
+                    syncer.run();
+                    isDirty = false;
+                    lastSync = System.currentTimeMillis();
+                }
+            } catch (RuntimeException e) {
+                System.out.println("Unable to write changes to file! Task data may be inconsistent.");
+            }
+
+            synchronized (this) {
+                completedCount += batchSize;
+                notifyAll();
+            }
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package chatterbox.memory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+import chatterbox.task.Task;
+
+/**
+ * Task save data split into fixed-size segment files, each protected by a CRC.
+ *
+ * <p>A task is owned by segment {@code (id - 1) / capacity}, where the capacity is set by the
+ * {@code chatterbox.storage.segment.size} system property. Each segment file starts with a
+ * header line holding the CRC32 of the lines that follow it, which use the same format as the
+ * text save file. Segments are verified in parallel when loading, and only a segment whose
+ * CRC does not match is repaired. A change to a task rewrites only the segment that owns it,
+ * so the cost of both repairs and writes is bounded by the segment size.
+ */
+class SegmentedTaskFile implements TaskBackend {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final String HEADER_PREFIX = "# crc32 ";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".txt";
+
+    private static int capacity = Integer.getInteger("chatterbox.storage.segment.size", DEFAULT_CAPACITY);
+
+    private final File directory;
+    private final Set<Long> unsyncedSegments = new HashSet<>();
+
+    SegmentedTaskFile(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Verifies every segment in parallel and loads their tasks into the storage object.
+     * Segments whose CRC does not match are repaired by dropping corrupted lines.
+     *
+     * @param storage Storage object in which Task objects are stored in
+     * @return true if any segment had to be repaired
+     * @throws IOException If a segment cannot be read or repaired
+     */
+    @Override
+    public boolean load(Storage<Task> storage) throws IOException {
+        directory.mkdirs();
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX)
+                && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            throw new IOException("Unable to list segments in " + directory);
+        }
+
+        Arrays.sort(files);
+        List<Segment> segments;
+        try {
+            segments = Arrays.stream(files).parallel()
+                    .map(SegmentedTaskFile::verify)
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        boolean isRepaired = false;
+        for (Segment segment : segments) {
+            if (!segment.isValid) {
+                writeSegment(segment.file, segment.tasks);
+                isRepaired = true;
+            }
+
+            for (Task task : segment.tasks) {
+                storage.addItem(task);
+            }
+        }
+
+        return isRepaired;
+    }
+
+    /**
+     * Writes a batch of changes, rewriting each segment that owns a changed task once.
+     *
+     * @param batch Changes to be written, in order
+     * @throws IOException If a segment cannot be rewritten
+     */
+    @Override
+    public void commit(List<Mutation> batch) throws IOException {
+        Map<Long, List<Mutation>> mutationsBySegment = new LinkedHashMap<>();
+
+        for (Mutation mutation : batch) {
+            long id = mutation.getType() == Mutation.Type.ADD
+                    ? MemoryStorage.idOf(mutation.getLine())
+                    : mutation.getId();
+            if (id > 0) {
+                mutationsBySegment.computeIfAbsent(segmentOf(id), segment -> new ArrayList<>()).add(mutation);
+            }
+        }
+
+        for (Map.Entry<Long, List<Mutation>> entry : mutationsBySegment.entrySet()) {
+            File file = segmentFile(entry.getKey());
+            Map<Long, Task> tasks = new TreeMap<>();
+            for (Task task : verify(file).tasks) {
+                tasks.put(task.getId(), task);
+            }
+
+            for (Mutation mutation : entry.getValue()) {
+                apply(tasks, mutation);
+            }
+
+            writeSegment(file, new ArrayList<>(tasks.values()));
+            unsyncedSegments.add(entry.getKey());
+        }
+    }
+
+    @Override
+    public void append(Task task) throws IOException {
+        commit(List.of(Mutation.add(MemoryStorage.serializeTask(task))));
+    }
+
+    @Override
+    public void updateStatus(long id, boolean isCompleted) throws IOException {
+        commit(List.of(Mutation.status(id, isCompleted)));
+    }
+
+    @Override
+    public void delete(long id) throws IOException {
+        commit(List.of(Mutation.delete(id)));
+    }
+
+    /**
+     * Forces every segment written since the last call onto the storage device.
+     *
+     * @throws IOException If a segment cannot be synced
+     */
+    @Override
+    public void force() throws IOException {
+        for (long segment : unsyncedSegments) {
+            File file = segmentFile(segment);
+            if (!file.exists()) {
+                continue;
+            }
+
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+        }
+        unsyncedSegments.clear();
+    }
+
+    /**
+     * Splits the given tasks into segments, replacing any existing segments.
+     *
+     * @param tasks Tasks with IDs to be written
+     * @throws IOException If a segment cannot be written
+     */
+    void writeAll(List<Task> tasks) throws IOException {
+        directory.mkdirs();
+        Map<Long, List<Task>> tasksBySegment = new TreeMap<>();
+        for (Task task : tasks) {
+            tasksBySegment.computeIfAbsent(segmentOf(task.getId()), segment -> new ArrayList<>()).add(task);
+        }
+
+        for (Map.Entry<Long, List<Task>> entry : tasksBySegment.entrySet()) {
+            writeSegment(segmentFile(entry.getKey()), entry.getValue());
+        }
+    }
+
+    boolean isEmpty() {
+        String[] names = directory.list();
+        return names == null || names.length == 0;
+    }
+
+    private static void apply(Map<Long, Task> tasks, Mutation mutation) {
+        switch (mutation.getType()) {
+        case ADD:
+            Task task = MemoryStorage.parseTask(mutation.getLine());
+            if (task != null) {
+                tasks.put(task.getId(), task);
+            }
+            break;
+        case STATUS:
+            Task updated = tasks.get(mutation.getId());
+            if (updated != null && mutation.isCompleted()) {
+                updated.setCompleted();
+            } else if (updated != null) {
+                updated.setIncomplete();
+            }
+            break;
+        case DELETE:
+            tasks.remove(mutation.getId());
+            break;
+        default:
+            break;
+        }
+    }
+
+    private static long segmentOf(long id) {
+        return (id - 1) / capacity;
+    }
+
+    private File segmentFile(long segment) {
+        return new File(directory, String.format("%s%08d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Reads a segment and checks its lines against the CRC in its header.
+     * A missing segment is treated as a valid, empty one.
+     */
+    private static Segment verify(File file) {
+        if (!file.exists()) {
+            return new Segment(file, new ArrayList<>(), true);
+        }
+
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        boolean hasHeader = !lines.isEmpty() && lines.get(0).startsWith(HEADER_PREFIX);
+        List<String> body = hasHeader ? lines.subList(1, lines.size()) : lines;
+        boolean isValid = hasHeader
+                && lines.get(0).substring(HEADER_PREFIX.length()).equals(checksumOf(body));
+
+        List<Task> tasks = new ArrayList<>();
+        for (String line : body) {
+            Task task = MemoryStorage.parseTask(line);
+            if (task != null && task.getId() > 0) {
+                tasks.add(task);
+            } else {
+                isValid = false;
+            }
+        }
+
+        return new Segment(file, tasks, isValid);
+    }
+
+    /**
+     * Atomically replaces a segment with one that holds exactly the given tasks.
+     * A segment without tasks is removed.
+     */
+    private static void writeSegment(File file, List<Task> tasks) throws IOException {
+        if (tasks.isEmpty()) {
+            Files.deleteIfExists(file.toPath());
+            return;
+        }
+
+        List<String> body = new ArrayList<>();
+        for (Task task : tasks) {
+            body.add(MemoryStorage.serializeTask(task));
+        }
+
+        StringBuilder contents = new StringBuilder(HEADER_PREFIX).append(checksumOf(body)).append('\n');
+        for (String line : body) {
+            contents.append(line).append('\n');
+        }
+
+        AtomicFiles.replace(file, contents.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String checksumOf(List<String> lines) {
+        CRC32 crc = new CRC32();
+        for (String line : lines) {
+            crc.update(line.getBytes(StandardCharsets.UTF_8));
+            crc.update('\n');
+        }
+        return Long.toHexString(crc.getValue());
+    }
+
+    /**
+     * The tasks read from one segment file and whether the segment passed verification.
+     */
+    private static class Segment {
+        private final File file;
+        private final List<Task> tasks;
+        private final boolean isValid;
+
+        private Segment(File file, List<Task> tasks, boolean isValid) {
+            this.file = file;
+            this.tasks = tasks;
+            this.isValid = isValid;
+        }
+    }
+}
@@ -1,7 +1,22 @@
 package chatterbox.memory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
 
+import chatterbox.index.DeadlineIndex;
+import chatterbox.index.DuplicateIndex;
+import chatterbox.index.EventIndex;
+import chatterbox.index.FuzzyIndex;
+import chatterbox.index.InvertedIndex;
+import chatterbox.index.StatusIndex;
+import chatterbox.index.TaskIndex;
 import chatterbox.task.Task;
 
 /**
@@ -10,14 +25,52 @@ import chatterbox.task.Task;
  * <p>The {@code Storage} class manages a collection of tasks, providing methods to
  * add, remove, retrieve and display tasks. It also supports searching tasks by
  * their description. This class uses an {@link ArrayList} internally to store
- * the tasks and is generic over any subclass of {@link Task}.
+ * the tasks and is generic over any subclass of {@link Task}. The list may be swapped for
+ * another implementation, such as one that decodes tasks from the save file on demand.
+ *
+ * <p>Tasks are assigned persistent IDs when they are added and are kept in increasing
+ * ID order, so a task can be found by its ID with a binary search.
+ *
+ * <p>Setting the {@code chatterbox.storage.list} system property to {@code tree} keeps the tasks in an
+ * {@link IndexedTreeList} instead, so that removing a task at any position takes O(log n) time
+ * rather than shifting every later task. Setting it to {@code columnar} keeps them in a
+ * {@link ColumnarTaskList}, which stores tasks as columns of primitive values and builds each
+ * {@link Task} only when it is read.
+ *
+ * <p>Queries that would otherwise scan every task are answered by a {@link TaskIndex}. Each index
+ * is built the first time it is needed and kept up to date as tasks are added and removed.
+ * Indexes are built under the storage's monitor, so a storage that is no longer changed, such as
+ * a snapshot published by {@link ConcurrentStorage}, can be queried from many threads at once.
  */
 public class Storage<T extends Task> {
 
-    private ArrayList<T> storage;
+    private List<T> storage;
+    private long nextId = 1;
+    private final List<TaskIndex> indexes = new ArrayList<>();
+    private DuplicateIndex duplicateIndex;
+    private InvertedIndex invertedIndex;
+    private DeadlineIndex deadlineIndex;
+    private EventIndex eventIndex;
+    private StatusIndex statusIndex;
+    private FuzzyIndex fuzzyIndex;
 
     public Storage() {
-        this.storage = new ArrayList<>();
+        this.storage = newList(System.getProperty("chatterbox.storage.list", ""));
+    }
+
+    /**
+     * Replaces the stored tasks with the given list, which must be in increasing ID order.
+     *
+     * @param items Tasks to be stored
+     */
+    void useItems(List<T> items) {
+        this.storage = items;
+        this.nextId = items.isEmpty() ? 1 : Math.max(nextId, idAt(items.size() - 1) + 1);
+
+        for (TaskIndex index : indexes) {
+            index.clear();
+            items.forEach(index::add);
+        }
     }
 
     /**
@@ -27,28 +80,86 @@ public class Storage<T extends Task> {
      * @return Returns a string representing {@code Task} objects in {@code Storage}
      */
     public String displayItems() {
-        String response = "";
+        StringBuilder response = new StringBuilder();
+
+        try {
+            displayItems(response, 1, storage.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return response.toString();
+    }
+
+    /**
+     * Writes the items from position {@code from} to position {@code to} inclusive into the sink,
+     * in the same numbered format as {@link #displayItems()}. Positions start from 1, and a range
+     * that runs past either end of the list is clipped to it. Each line is written as soon as it is
+     * rendered, so a sink such as a {@link java.io.Writer} can show the first items straight away.
+     *
+     * @param out Sink that the items are written into
+     * @param from Position of the first item to be written
+     * @param to Position of the last item to be written
+     * @throws IOException If the sink cannot be written to
+     */
+    public void displayItems(Appendable out, int from, int to) throws IOException {
+        int last = Math.min(to, storage.size());
+
+        for (int index = Math.max(from, 1); index <= last; ++index) {
+            out.append(String.valueOf(index)).append('.').append(String.valueOf(this.storage.get(index - 1)))
+                    .append('\n');
+        }
+    }
+
+    /**
+     * Returns the items with the given symbol and completion status in the same numbered format as
+     * {@link #displayItems()}, numbered by their position in the full list. A null symbol or status
+     * matches every task. Matches are found by intersecting the bitmaps of a {@link StatusIndex}.
+     *
+     * @param symbol Symbol of the task type, such as {@code 'D'}, or null
+     * @param isCompleted Completion status, or null
+     * @return Returns a string representing the matching {@code Task} objects in {@code Storage}
+     */
+    public String displayItems(Character symbol, Boolean isCompleted) {
+        long[] ids = getStatusIndex().find(symbol, isCompleted);
+        if (ids == null) {
+            return displayItems();
+        }
 
-        for (int index = 1; index <= storage.size(); ++index) {
-            response += index + "." + this.storage.get(index - 1) + '\n';
+        StringBuilder response = new StringBuilder();
+        for (long id : ids) {
+            int index = indexOfId(id);
+            if (index >= 0) {
+                response.append(index + 1).append('.').append(this.storage.get(index)).append('\n');
+            }
         }
 
-        return response;
+        return response.toString();
     }
 
     /**
-     * Returns an ArrayList of Tasks for which each Task contains the given description
+     * Returns an ArrayList of Tasks for which each Task contains the given description.
+     * Candidates are looked up in an {@link InvertedIndex} and then checked one by one,
+     * so only queries the index cannot narrow down scan every task.
      *
      * @param desc String used to search the description for
      * @return {@code ArrayList<Task>}
      */
     public ArrayList<Task> searchTasksByDescription(String desc) {
-        ArrayList<Task> result = new ArrayList<>();
+        long[] candidates = getInvertedIndex().findCandidates(desc);
+        if (candidates == null) {
+            return scanTasksByDescription(desc);
+        }
 
-        for (Task task : storage) {
-            String description = task.getTaskDescription();
+        ArrayList<Task> result = new ArrayList<>();
+        for (long id : candidates) {
+            int index = indexOfId(id);
+            if (index < 0) {
+                continue;
+            }
 
-            if (description.contains(desc)) {
+            Task task = this.storage.get(index);
+            if (task.getTaskDescription().contains(desc)) {
                 result.add(task);
             }
         }
@@ -56,23 +167,415 @@ public class Storage<T extends Task> {
         return result;
     }
 
+    /**
+     * Returns the tasks that contain, for every word of the term, a word that is at most one or two
+     * typos away from it, ignoring case. Close words are looked up in the BK-tree of a
+     * {@link FuzzyIndex}, so the term is not compared against every task.
+     *
+     * @param term Words to be matched approximately
+     * @return {@code ArrayList<Task>}
+     */
+    public ArrayList<Task> searchTasksApproximately(String term) {
+        long[] ids = getFuzzyIndex().findApproximately(term);
+        return ids == null ? new ArrayList<>() : getItemsById(ids);
+    }
+
+    /**
+     * Returns the deadline tasks due strictly before the given time, earliest deadline first.
+     *
+     * @param time Time that the tasks are due before
+     * @return {@code ArrayList<Task>}
+     */
+    public ArrayList<Task> searchTasksDueBefore(LocalDateTime time) {
+        return getItemsById(getDeadlineIndex().findDueBefore(time));
+    }
+
+    /**
+     * Returns the deadline tasks due from {@code start} to {@code end} inclusive,
+     * earliest deadline first.
+     *
+     * @param start Start of the period
+     * @param end End of the period
+     * @return {@code ArrayList<Task>}
+     */
+    public ArrayList<Task> searchTasksDueBetween(LocalDateTime start, LocalDateTime end) {
+        return getItemsById(getDeadlineIndex().findDueBetween(start, end));
+    }
+
+    /**
+     * Returns at most {@code count} pending deadline tasks due at or after the given time,
+     * nearest deadline first. The tasks are read from a {@link DeadlineIndex} instead of
+     * sorting every deadline.
+     *
+     * @param time Time that the tasks are due from
+     * @param count Maximum number of tasks to be returned
+     * @return {@code ArrayList<Task>}
+     */
+    public ArrayList<Task> searchUpcomingDeadlines(LocalDateTime time, int count) {
+        return getItemsById(getDeadlineIndex().findUpcoming(time, count));
+    }
+
+    /**
+     * Returns the events that are on at any time from {@code start} to {@code end} inclusive,
+     * earliest start first. Events saved with free-text times are never returned.
+     *
+     * @param start Start of the period
+     * @param end End of the period
+     * @return {@code ArrayList<Task>}
+     */
+    public ArrayList<Task> searchEventsOverlapping(LocalDateTime start, LocalDateTime end) {
+        return getItemsById(getEventIndex().findOverlapping(start, end));
+    }
+
+    /**
+     * Returns the events that are on at any time during the given day, earliest start first.
+     *
+     * @param day Day of the agenda
+     * @return {@code ArrayList<Task>}
+     */
+    public ArrayList<Task> searchEventsOnDay(LocalDate day) {
+        return getItemsById(getEventIndex().findOnDay(day));
+    }
+
+    /**
+     * Returns true if a stored task has the same type and description as the given task.
+     *
+     * @param newTask Task to be checked
+     * @return true if an equal task is already stored
+     */
     public boolean hasDuplicateTask(Task newTask) {
-        return storage.stream().anyMatch(task -> task.equals(newTask));
+        return getDuplicateIndex().contains(newTask);
     }
 
+    /**
+     * Adds a task to the storage.
+     * Tasks without an ID are assigned the next ID and appended. Tasks that already
+     * have an ID, such as tasks loaded from memory, are placed according to their ID.
+     *
+     * @param item Task to be added
+     * @return true once the task has been added
+     * @throws IllegalArgumentException If a task with the same ID is already stored
+     */
     public boolean addItem(T item) {
-        return this.storage.add(item);
+        int size = this.storage.size();
+        boolean isLast = item.getId() <= 0 || size == 0 || idAt(size - 1) < item.getId();
+        int index = isLast ? size : indexOfId(item.getId());
+        if (index >= 0 && !isLast) {
+            throw new IllegalArgumentException("A task with ID " + item.getId() + " is already stored");
+        }
+
+        if (item.getId() <= 0) {
+            item.setId(nextId);
+        }
+        nextId = Math.max(nextId, item.getId() + 1);
+
+        for (TaskIndex taskIndex : indexes) {
+            taskIndex.add(item);
+        }
+
+        this.storage.add(isLast ? size : -index - 1, item);
+        return true;
+    }
+
+    /**
+     * Returns the index of the task with the given ID.
+     * If there is no such task, returns {@code -(insertion point) - 1}, as with
+     * {@link java.util.Collections#binarySearch(java.util.List, Object)}.
+     *
+     * @param id Persistent ID of the task
+     * @return Index of the task, or a negative value if it is not stored
+     */
+    public int indexOfId(long id) {
+        int low = 0;
+        int high = this.storage.size() - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = idAt(mid);
+
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -(low + 1);
     }
 
     public T removeItem(int index) throws IndexOutOfBoundsException {
-        return this.storage.remove(index);
+        T item = this.storage.remove(index);
+
+        for (TaskIndex taskIndex : indexes) {
+            taskIndex.remove(item);
+        }
+        return item;
+    }
+
+    /**
+     * Removes the tasks at the given indexes in one pass. Every index refers to the position of a
+     * task before any of them is removed, and no task is removed if any index is out of bounds.
+     *
+     * @param positions Indexes of the tasks, in increasing order without repeats
+     * @return The removed tasks, in the same order as the indexes
+     * @throws IndexOutOfBoundsException If there is no task at one of the indexes
+     */
+    public List<T> removeItems(int[] positions) throws IndexOutOfBoundsException {
+        List<T> removed = new ArrayList<>(positions.length);
+        for (int index : positions) {
+            removed.add(this.storage.get(index));
+        }
+
+        if (this.storage instanceof ArrayList) {
+            // Shifts every remaining task once, instead of once per removed task.
+            long[] ids = removed.stream().mapToLong(Task::getId).toArray();
+            this.storage.removeIf(item -> Arrays.binarySearch(ids, item.getId()) >= 0);
+        } else if (this.storage instanceof BulkRemovable) {
+            ((BulkRemovable) this.storage).removeAll(positions);
+        } else {
+            // Removing from the back leaves the tasks at smaller indexes where they were.
+            for (int i = positions.length - 1; i >= 0; --i) {
+                this.storage.remove(positions[i]);
+            }
+        }
+
+        for (T item : removed) {
+            for (TaskIndex taskIndex : indexes) {
+                taskIndex.remove(item);
+            }
+        }
+        return removed;
     }
 
     public T getItem(int index) throws IndexOutOfBoundsException {
         return this.storage.get(index);
     }
 
+    /**
+     * Sets the completion status of the task at the given index.
+     *
+     * @param index Index of the task
+     * @param isCompleted Whether the task is completed
+     * @return The updated task
+     * @throws IndexOutOfBoundsException If there is no task at the index
+     */
+    public T updateItemCompletion(int index, boolean isCompleted) throws IndexOutOfBoundsException {
+        T item = this.storage.get(index);
+
+        if (isCompleted) {
+            item.setCompleted();
+        } else {
+            item.setIncomplete();
+        }
+        this.storage.set(index, item);
+
+        for (TaskIndex taskIndex : indexes) {
+            taskIndex.updateStatus(item);
+        }
+        return item;
+    }
+
+    /**
+     * Sets the completion status of the tasks at the given indexes. No task is updated if any
+     * index is out of bounds.
+     *
+     * @param positions Indexes of the tasks
+     * @param isCompleted Whether the tasks are completed
+     * @return The updated tasks, in the same order as the indexes
+     * @throws IndexOutOfBoundsException If there is no task at one of the indexes
+     */
+    public List<T> updateItemsCompletion(int[] positions, boolean isCompleted) throws IndexOutOfBoundsException {
+        for (int index : positions) {
+            Objects.checkIndex(index, this.storage.size());
+        }
+
+        List<T> updated = new ArrayList<>(positions.length);
+        for (int index : positions) {
+            updated.add(updateItemCompletion(index, isCompleted));
+        }
+        return updated;
+    }
+
+    /**
+     * Returns the indexes of the tasks with the given symbol and completion status, in increasing
+     * order. A null symbol or status matches every task.
+     *
+     * @param symbol Symbol of the task type, such as {@code 'D'}, or null
+     * @param isCompleted Completion status, or null
+     * @return Indexes of the matching tasks
+     */
+    public int[] findIndexes(Character symbol, Boolean isCompleted) {
+        long[] ids = getStatusIndex().find(symbol, isCompleted);
+        if (ids == null) {
+            return IntStream.range(0, this.storage.size()).toArray();
+        }
+
+        int[] result = new int[ids.length];
+        int length = 0;
+        for (long id : ids) {
+            int index = indexOfId(id);
+            if (index >= 0) {
+                result[length++] = index;
+            }
+        }
+        return Arrays.copyOf(result, length);
+    }
+
     public int size() {
         return this.storage.size();
     }
+
+    /**
+     * Returns an unmodifiable copy of the stored tasks, in increasing ID order.
+     */
+    List<T> copyItems() {
+        return List.copyOf(this.storage);
+    }
+
+    /**
+     * Puts the given task in place of the task at the index, which must have the same ID.
+     *
+     * @param index Index of the task to be replaced
+     * @param item Task to be stored instead
+     * @throws IndexOutOfBoundsException If there is no task at the index
+     */
+    void replaceItem(int index, T item) throws IndexOutOfBoundsException {
+        T replaced = this.storage.get(index);
+        assert replaced.getId() == item.getId() : "Replacement must keep the task's ID";
+
+        this.storage.set(index, item);
+        for (TaskIndex taskIndex : indexes) {
+            taskIndex.remove(replaced);
+            taskIndex.add(item);
+        }
+    }
+
+    private ArrayList<Task> scanTasksByDescription(String desc) {
+        ArrayList<Task> result = new ArrayList<>();
+
+        for (Task task : storage) {
+            String description = task.getTaskDescription();
+
+            if (description.contains(desc)) {
+                result.add(task);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Builds every index that is otherwise built the first time it is needed,
+     * so that later queries only read from the storage.
+     */
+    void buildIndexes() {
+        getDuplicateIndex();
+        getInvertedIndex();
+        getDeadlineIndex();
+        getEventIndex();
+        getStatusIndex();
+        getFuzzyIndex();
+    }
+
+    private synchronized DuplicateIndex getDuplicateIndex() {
+        if (duplicateIndex == null) {
+            duplicateIndex = buildIndex(new DuplicateIndex());
+        }
+
+        return duplicateIndex;
+    }
+
+    private synchronized InvertedIndex getInvertedIndex() {
+        if (invertedIndex == null) {
+            invertedIndex = buildIndex(new InvertedIndex());
+        }
+
+        return invertedIndex;
+    }
+
+    private synchronized StatusIndex getStatusIndex() {
+        if (statusIndex == null) {
+            statusIndex = buildIndex(new StatusIndex());
+        }
+
+        return statusIndex;
+    }
+
+    private synchronized FuzzyIndex getFuzzyIndex() {
+        if (fuzzyIndex == null) {
+            fuzzyIndex = buildIndex(new FuzzyIndex());
+        }
+
+        return fuzzyIndex;
+    }
+
+    private synchronized DeadlineIndex getDeadlineIndex() {
+        if (deadlineIndex == null) {
+            deadlineIndex = buildIndex(new DeadlineIndex());
+        }
+
+        return deadlineIndex;
+    }
+
+    private synchronized EventIndex getEventIndex() {
+        if (eventIndex == null) {
+            eventIndex = buildIndex(new EventIndex());
+        }
+
+        return eventIndex;
+    }
+
+    /**
+     * Returns the stored tasks with the given IDs, in the same order as the IDs.
+     */
+    private ArrayList<Task> getItemsById(long[] ids) {
+        ArrayList<Task> result = new ArrayList<>();
+        for (long id : ids) {
+            int index = indexOfId(id);
+            if (index >= 0) {
+                result.add(this.storage.get(index));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Fills a new index with every stored task and registers it to be kept up to date.
+     *
+     * @param index Empty index to be built
+     * @return The built index
+     */
+    private <I extends TaskIndex> I buildIndex(I index) {
+        for (T task : this.storage) {
+            index.add(task);
+        }
+
+        indexes.add(index);
+        return index;
+    }
+
+    /**
+     * Returns an empty list of the kind named by the {@code chatterbox.storage.list} system property.
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> newList(String kind) {
+        switch (kind) {
+        case "tree":
+            return new IndexedTreeList<>();
+        case "columnar":
+            return (List<T>) new ColumnarTaskList();
+        default:
+            return new ArrayList<>();
+        }
+    }
+
+    private long idAt(int index) {
+        if (this.storage instanceof IdIndexed) {
+            return ((IdIndexed) this.storage).idAt(index);
+        }
+        return this.storage.get(index).getId();
+    }
 }
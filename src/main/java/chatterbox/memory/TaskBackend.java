@@ -0,0 +1,86 @@
+package chatterbox.memory;
+
+import java.io.IOException;
+import java.util.List;
+
+import chatterbox.task.Task;
+
+/**
+ * A place where tasks are persisted, such as the text save file.
+ *
+ * <p>{@link MemoryStorage} picks one backend at startup based on the
+ * {@code chatterbox.storage.format} system property and sends every change to it.
+ * Saved tasks are always referred to by their persistent ID.
+ */
+interface TaskBackend {
+    /**
+     * Loads every saved task into the storage object in increasing ID order.
+     * Saved data that cannot be read is dropped and repaired.
+     *
+     * @param storage Storage object in which Task objects are stored in
+     * @return true if corrupted data was dropped
+     * @throws IOException If the saved data cannot be read
+     */
+    boolean load(Storage<Task> storage) throws IOException;
+
+    /**
+     * Saves a new task.
+     *
+     * @param task Task with a persistent ID to be saved
+     * @throws IOException If the task cannot be saved
+     */
+    void append(Task task) throws IOException;
+
+    /**
+     * Updates the completion status of the saved task with the given ID.
+     * Nothing is changed if no saved task has the ID.
+     *
+     * @param id Persistent ID of the task
+     * @param isCompleted Completion status to set the task to
+     * @throws IOException If the change cannot be saved
+     */
+    void updateStatus(long id, boolean isCompleted) throws IOException;
+
+    /**
+     * Deletes the saved task with the given ID.
+     * Nothing is changed if no saved task has the ID.
+     *
+     * @param id Persistent ID of the task
+     * @throws IOException If the change cannot be saved
+     */
+    void delete(long id) throws IOException;
+
+    /**
+     * Forces every change saved so far onto the storage device.
+     *
+     * @throws IOException If the changes cannot be synced
+     */
+    void force() throws IOException;
+
+    /**
+     * Saves a batch of changes in order. Backends that can combine writes override this.
+     *
+     * @param batch Changes to be saved, in order
+     * @throws IOException If the changes cannot be saved
+     */
+    default void commit(List<Mutation> batch) throws IOException {
+        for (Mutation mutation : batch) {
+            switch (mutation.getType()) {
+            case ADD:
+                Task task = MemoryStorage.parseTask(mutation.getLine());
+                if (task != null) {
+                    append(task);
+                }
+                break;
+            case STATUS:
+                updateStatus(mutation.getId(), mutation.isCompleted());
+                break;
+            case DELETE:
+                delete(mutation.getId());
+                break;
+            default:
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package chatterbox.memory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import chatterbox.task.Task;
+
+/**
+ * Migrates save files between the text format and the binary format.
+ *
+ * <p>Corrupted lines in a text save file are skipped during migration, in the
+ * same way {@link MemoryStorage#loadTasks(Storage)} skips them.
+ *
+ * <p>Usage: {@code java chatterbox.memory.TaskFileConverter (to-binary | to-text) <source> <target>}
+ */
+public class TaskFileConverter {
+
+    /**
+     * Converts a text save file into a binary save file.
+     *
+     * @param textFile Text save file to be read
+     * @param binaryFile Binary save file to be written
+     * @return Number of corrupted lines that were skipped
+     * @throws IOException If either file cannot be accessed
+     */
+    public static int toBinary(File textFile, File binaryFile) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        int corruptedLines = 0;
+
+        for (String line : Files.readAllLines(textFile.toPath(), StandardCharsets.UTF_8)) {
+            Task task = MemoryStorage.parseTask(line);
+
+            if (task == null) {
+                ++corruptedLines;
+                continue;
+            }
+            tasks.add(task);
+        }
+
+        MemoryStorage.assignMissingIds(tasks);
+        BinaryTaskFile.writeAll(binaryFile, tasks);
+        return corruptedLines;
+    }
+
+    /**
+     * Converts a binary save file into a text save file.
+     *
+     * @param binaryFile Binary save file to be read
+     * @param textFile Text save file to be written
+     * @throws IOException If either file cannot be accessed
+     */
+    public static void toText(File binaryFile, File textFile) throws IOException {
+        StringBuilder contents = new StringBuilder();
+
+        for (Task task : BinaryTaskFile.readAll(binaryFile)) {
+            contents.append(MemoryStorage.serializeTask(task)).append('\n');
+        }
+
+        AtomicFiles.replace(textFile, contents.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Converts a save file from the command line.
+     *
+     * @param args Direction of the conversion, source file and target file
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.out.println("Usage: TaskFileConverter (to-binary | to-text) <source> <target>");
+            return;
+        }
+
+        File source = new File(args[1]);
+        File target = new File(args[2]);
+
+        try {
+            switch (args[0]) {
+            case "to-binary":
+                int corruptedLines = toBinary(source, target);
+                System.out.println("Converted " + source + " to " + target + ". Skipped "
+                        + corruptedLines + " corrupted lines.");
+                break;
+            case "to-text":
+                toText(source, target);
+                System.out.println("Converted " + source + " to " + target + ".");
+                break;
+            default:
+                System.out.println("Unknown conversion: " + args[0]);
+                break;
+            }
+        } catch (IOException e) {
+            System.out.println("Conversion failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package chatterbox.memory;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import chatterbox.task.Task;
+
+/**
+ * The journal of changes made to the text save file since it was last compacted.
+ *
+ * <p>Every change is appended as one record, such as {@code A | 12 | T | 0 | borrow book},
+ * {@code M | 12 | 1} or {@code D | 12}, prefixed with the CRC-32 of the record, such as
+ * {@code #1c291ca3 M | 12 | 1}. Replaying the journal stops at the first record whose checksum
+ * does not match, which is where a crash tore the journal, and cuts the journal short there.
+ * Records written before checksums were added are replayed as they are.
+ *
+ * <p>Compacting folds the journal into the task file, which becomes the new snapshot, and
+ * carries over the records appended while the snapshot was written.
+ */
+class TaskJournal {
+    private static final String ADD = "A";
+    private static final String STATUS = "M";
+    private static final String DELETE = "D";
+    private static final String CHECKSUM_PREFIX = "#";
+
+    private final File file;
+    private final File taskFile;
+    private final TextTaskFile snapshot;
+
+    /**
+     * Creates the journal of the given text save file.
+     *
+     * @param file Journal file
+     * @param taskFile Text save file that the journal is replayed on top of
+     */
+    TaskJournal(File file, File taskFile) {
+        this.file = file;
+        this.taskFile = taskFile;
+        this.snapshot = new TextTaskFile(taskFile);
+    }
+
+    /**
+     * Returns the size of the journal in bytes.
+     */
+    long length() {
+        return file.length();
+    }
+
+    /**
+     * Appends a batch of changes to the journal as checksummed records.
+     *
+     * @param batch Changes to be appended, in order
+     * @throws IOException If the journal cannot be written
+     */
+    synchronized void append(List<Mutation> batch) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file, StandardCharsets.UTF_8, true))) {
+            for (Mutation mutation : batch) {
+                String record = recordOf(mutation);
+                writer.println(CHECKSUM_PREFIX + checksumOf(record) + " " + record);
+            }
+
+            if (writer.checkError()) {
+                throw new IOException("Unable to append to " + file);
+            }
+        }
+    }
+
+    /**
+     * Forces appended records onto the storage device.
+     *
+     * @throws IOException If the journal cannot be synced
+     */
+    void force() throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Loads the task file, replays the journal on top of it and adds the resulting tasks into the
+     * storage object. Corrupted lines and tasks whose ID repeats an earlier task's are dropped
+     * from the task file, tasks without an ID are given one, and the task file is rewritten if
+     * any of these was fixed. Journal records that cannot be applied are skipped.
+     *
+     * @param storage Storage object in which Task objects are stored in
+     * @return true if corrupted tasks were dropped
+     * @throws IOException If the task file cannot be read or rewritten
+     */
+    synchronized boolean load(Storage<Task> storage) throws IOException {
+        ParallelTaskLoader.LoadResult result = ParallelTaskLoader.load(taskFile);
+        List<Task> tasks = result.getTasks();
+        boolean hasMissingIds = MemoryStorage.assignMissingIds(tasks);
+        boolean isCorrupted = MemoryStorage.dropDuplicateIds(tasks) || result.isCorrupted();
+
+        if (hasMissingIds || isCorrupted || result.getDeletedLines() > 0) {
+            snapshot.rewrite(tasks);
+        }
+
+        Collection<Task> replayed = tasks;
+        try {
+            replayed = replay(tasks);
+        } catch (IOException e) {
+            System.out.println("Unable to read journal file! Recent changes may be missing.");
+        }
+
+        for (Task task : replayed) {
+            storage.addItem(task);
+        }
+        return isCorrupted;
+    }
+
+    /**
+     * Returns the given tasks after applying every intact record in the journal to them.
+     * A journal torn by a crash is cut short at its first torn record.
+     *
+     * @param tasks Tasks loaded from the task file
+     * @return Tasks that reflect the task file with the journal applied, in the order they were added
+     * @throws IOException If the journal cannot be read or cut short
+     */
+    synchronized Collection<Task> replay(List<Task> tasks) throws IOException {
+        if (!file.exists()) {
+            return tasks;
+        }
+
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        List<String> records = verify(lines);
+
+        if (records.size() < lines.size()) {
+            StringBuilder intact = new StringBuilder();
+            for (String line : lines.subList(0, records.size())) {
+                intact.append(line).append('\n');
+            }
+            AtomicFiles.replace(file, intact.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        return apply(tasks, records);
+    }
+
+    /**
+     * Folds the journal into the task file, which becomes the new snapshot.
+     *
+     * <p>The bulk of the work happens without holding the journal's lock, so changes can keep
+     * being appended while the task file is rebuilt. Records appended in the meantime are
+     * carried over into the fresh journal once the new task file is in place. If the process
+     * dies after the snapshot is replaced but before the journal is, the old records are
+     * replayed onto the new snapshot, which is harmless because every record names the task
+     * it changes by ID.
+     *
+     * @throws IOException If the task file or the journal cannot be read or replaced
+     */
+    void compact() throws IOException {
+        long coveredLength;
+        synchronized (this) {
+            coveredLength = file.length();
+        }
+
+        byte[] journal = Files.readAllBytes(file.toPath());
+        String covered = new String(journal, 0, (int) coveredLength, StandardCharsets.UTF_8);
+        List<String> records = covered.isEmpty()
+                ? new ArrayList<>()
+                : verify(List.of(covered.split("\\R")));
+        Collection<Task> tasks = apply(ParallelTaskLoader.load(taskFile).getTasks(), records);
+
+        synchronized (this) {
+            snapshot.rewrite(new ArrayList<>(tasks));
+
+            byte[] current = Files.readAllBytes(file.toPath());
+            AtomicFiles.replace(file, Arrays.copyOfRange(current, (int) coveredLength, current.length));
+        }
+    }
+
+    /**
+     * Returns the records in the journal up to, but not including, the first record whose
+     * checksum does not match. Records written before checksums were added are kept as they are.
+     *
+     * @param lines Lines of the journal
+     * @return Records that were written completely, without their checksums
+     */
+    private static List<String> verify(List<String> lines) {
+        List<String> records = new ArrayList<>();
+
+        for (String line : lines) {
+            if (!line.startsWith(CHECKSUM_PREFIX)) {
+                records.add(line);
+                continue;
+            }
+
+            int separator = line.indexOf(' ');
+            if (separator < 0) {
+                break;
+            }
+
+            String record = line.substring(separator + 1);
+            if (!line.substring(CHECKSUM_PREFIX.length(), separator).equals(checksumOf(record))) {
+                break;
+            }
+            records.add(record);
+        }
+
+        return records;
+    }
+
+    private static String checksumOf(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    /**
+     * Applies journal records to tasks in the order they were written.
+     * Records refer to tasks by their persistent ID.
+     *
+     * @param tasks Tasks that the journal was written against
+     * @param records Journal records to apply
+     * @return Tasks after the records have been applied, in the order they were added
+     */
+    private static Collection<Task> apply(List<Task> tasks, List<String> records) {
+        Map<Long, Task> tasksById = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            tasksById.put(task.getId(), task);
+        }
+
+        for (String record : records) {
+            try {
+                String[] tokens = record.split(" \\| ");
+
+                switch (tokens[0]) {
+                case ADD:
+                    Task task = MemoryStorage.parseTask(record.substring(ADD.length() + 3));
+                    if (task != null && task.getId() > 0) {
+                        tasksById.put(task.getId(), task);
+                    }
+                    break;
+                case STATUS:
+                    Task updated = tasksById.get(Long.parseLong(tokens[1]));
+                    if (updated != null && tokens[2].equals("1")) {
+                        updated.setCompleted();
+                    } else if (updated != null) {
+                        updated.setIncomplete();
+                    }
+                    break;
+                case DELETE:
+                    tasksById.remove(Long.parseLong(tokens[1]));
+                    break;
+                default:
+                    break;
+                }
+            } catch (IndexOutOfBoundsException | NumberFormatException e) {
+                // Skips records that were only partially written.
+            }
+        }
+
+        return tasksById.values();
+    }
+
+    private static String recordOf(Mutation mutation) {
+        switch (mutation.getType()) {
+        case ADD:
+            return ADD + " | " + mutation.getLine();
+        case STATUS:
+            return STATUS + " | " + mutation.getId() + " | " + (mutation.isCompleted() ? "1" : "0");
+        case DELETE:
+            return DELETE + " | " + mutation.getId();
+        default:
+            return "";
+        }
+    }
+}
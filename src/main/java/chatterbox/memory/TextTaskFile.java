@@ -0,0 +1,221 @@
+package chatterbox.memory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import chatterbox.task.Task;
+
+/**
+ * The text save file, indexed by task ID.
+ *
+ * <p>Every line holds one task prefixed with its ID, such as {@code 12 | T | 0 | borrow book}.
+ * While loading, the byte offset of each line's status field is recorded against the task's ID.
+ * Marking or unmarking a task overwrites that single byte, and deleting a task overwrites it
+ * with {@code -}, leaving a deleted line that is skipped on the next load. Deleted lines are
+ * dropped when the file is rewritten, which happens on load once they outnumber the live tasks.
+ *
+ * <p>If a lazy cache size is given, loading only indexes the file and tasks are decoded
+ * when they are first accessed, see {@link LazyTaskList}.
+ */
+class TextTaskFile implements TaskBackend {
+    private static final byte COMPLETED = '1';
+    private static final byte INCOMPLETE = '0';
+    private static final byte DELETED = '-';
+
+    private final File file;
+    private final int lazyCacheSize;
+    private final Map<Long, Long> statusOffsets = new HashMap<>();
+
+    TextTaskFile(File file) {
+        this(file, 0);
+    }
+
+    /**
+     * Creates a text save file that is loaded lazily if {@code lazyCacheSize} is positive.
+     *
+     * @param file Text save file
+     * @param lazyCacheSize Maximum number of decoded tasks to keep in memory, or 0 to load eagerly
+     */
+    TextTaskFile(File file, int lazyCacheSize) {
+        this.file = file;
+        this.lazyCacheSize = lazyCacheSize;
+    }
+
+    /**
+     * Loads every task in the file into the storage object and indexes their status fields.
+     * The file is rewritten if it had corrupted lines, lines saved without an ID,
+     * or more deleted lines than tasks.
+     *
+     * @param storage Storage object in which Task objects are stored in
+     * @return true if corrupted lines were dropped
+     * @throws IOException If the file cannot be read
+     */
+    @Override
+    public boolean load(Storage<Task> storage) throws IOException {
+        return lazyCacheSize > 0 ? loadLazily(storage) : loadEagerly(storage);
+    }
+
+    @Override
+    public void append(Task task) throws IOException {
+        commit(List.of(Mutation.add(MemoryStorage.serializeTask(task))));
+    }
+
+    @Override
+    public void updateStatus(long id, boolean isCompleted) throws IOException {
+        commit(List.of(Mutation.status(id, isCompleted)));
+    }
+
+    @Override
+    public void delete(long id) throws IOException {
+        commit(List.of(Mutation.delete(id)));
+    }
+
+    /**
+     * Writes a batch of changes to the file.
+     * New tasks are appended, while status changes and deletions overwrite one byte each.
+     * Changes to tasks that are not in the file are ignored.
+     *
+     * @param batch Changes to be written, in order
+     * @throws IOException If the file cannot be written
+     */
+    @Override
+    public void commit(List<Mutation> batch) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteArrayOutputStream pending = new ByteArrayOutputStream();
+            long length = channel.size();
+
+            if (length > 0 && !endsWithLineBreak(channel, length)) {
+                pending.write('\n');
+            }
+
+            for (Mutation mutation : batch) {
+                if (mutation.getType() == Mutation.Type.ADD) {
+                    String line = mutation.getLine();
+                    if (MemoryStorage.statusOffsetOf(line) >= 0) {
+                        statusOffsets.put(MemoryStorage.idOf(line),
+                                length + pending.size() + MemoryStorage.statusOffsetOf(line));
+                    }
+                    pending.writeBytes(line.getBytes(StandardCharsets.UTF_8));
+                    pending.write('\n');
+                    continue;
+                }
+
+                Long offset = mutation.getType() == Mutation.Type.DELETE
+                        ? statusOffsets.remove(mutation.getId())
+                        : statusOffsets.get(mutation.getId());
+                if (offset == null) {
+                    continue;
+                }
+
+                if (offset >= length) {
+                    length += write(channel, pending.toByteArray(), length);
+                    pending.reset();
+                }
+
+                byte status = mutation.getType() == Mutation.Type.DELETE
+                        ? DELETED
+                        : mutation.isCompleted() ? COMPLETED : INCOMPLETE;
+                write(channel, new byte[] {status}, offset);
+            }
+
+            write(channel, pending.toByteArray(), length);
+        }
+    }
+
+    /**
+     * Replaces the file with one that holds exactly the given tasks, and re-indexes them.
+     *
+     * @param tasks Tasks to be written, in order
+     * @throws IOException If the file cannot be written
+     */
+    void rewrite(List<Task> tasks) throws IOException {
+        ByteArrayOutputStream contents = new ByteArrayOutputStream();
+
+        statusOffsets.clear();
+        for (Task task : tasks) {
+            String line = MemoryStorage.serializeTask(task);
+            statusOffsets.put(task.getId(), (long) contents.size() + MemoryStorage.statusOffsetOf(line));
+            contents.writeBytes(line.getBytes(StandardCharsets.UTF_8));
+            contents.write('\n');
+        }
+
+        AtomicFiles.replace(file, contents.toByteArray());
+    }
+
+    /**
+     * Forces changes made to the file onto the storage device.
+     *
+     * @throws IOException If the file cannot be synced
+     */
+    @Override
+    public void force() throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private boolean loadEagerly(Storage<Task> storage) throws IOException {
+        ParallelTaskLoader.LoadResult result = ParallelTaskLoader.load(file);
+        List<Task> tasks = result.getTasks();
+        boolean hasMissingIds = MemoryStorage.assignMissingIds(tasks);
+        boolean isCorrupted = MemoryStorage.dropDuplicateIds(tasks) || result.isCorrupted();
+
+        for (Task task : tasks) {
+            storage.addItem(task);
+        }
+
+        statusOffsets.clear();
+        if (isCorrupted || hasMissingIds || result.getDeletedLines() > tasks.size()) {
+            rewrite(tasks);
+        } else {
+            long[] offsets = result.getStatusOffsets();
+            for (int i = 0; i < tasks.size(); ++i) {
+                statusOffsets.put(tasks.get(i).getId(), offsets[i]);
+            }
+        }
+
+        return isCorrupted;
+    }
+
+    /**
+     * Indexes the file and hands the storage object a list that decodes tasks only when
+     * they are accessed. Falls back to parsing every task if the file has to be repaired
+     * or rewritten first.
+     */
+    private boolean loadLazily(Storage<Task> storage) throws IOException {
+        LazyTaskList tasks = LazyTaskList.open(file, lazyCacheSize);
+        if (tasks == null) {
+            return loadEagerly(storage);
+        }
+
+        statusOffsets.clear();
+        for (int i = 0; i < tasks.size(); ++i) {
+            statusOffsets.put(tasks.idAt(i), tasks.statusOffsetAt(i));
+        }
+        storage.useItems(tasks);
+        return false;
+    }
+
+    private static boolean endsWithLineBreak(FileChannel channel, long length) throws IOException {
+        ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, length - 1);
+        return last.get(0) == '\n';
+    }
+
+    private static int write(FileChannel channel, byte[] bytes, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+        return bytes.length;
+    }
+}
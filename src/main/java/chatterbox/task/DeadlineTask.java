@@ -47,6 +47,51 @@ public class DeadlineTask extends Task {
         this.deadline = LocalDateTime.parse(deadline, formatter);
     }
 
+    /**
+     * Creates a new {@code DeadlineTask} with the specified description,
+     * parsed deadline and completion status.
+     *
+     * @param description the description of the task
+     * @param deadline the deadline
+     * @param isCompleted whether the task is initially completed
+     */
+    public DeadlineTask(String description, LocalDateTime deadline, boolean isCompleted) {
+        super(description, symbol, isCompleted);
+        this.deadline = deadline;
+    }
+
+    /**
+     * Formats a date and time in the {@code "dd-MM-yyyy HH:mm"} format used for deadlines.
+     *
+     * @param dateTime the date and time to be formatted
+     * @return the formatted date and time
+     */
+    public static String formatDateTime(LocalDateTime dateTime) {
+        return dateTime.format(formatter);
+    }
+
+    /**
+     * Parses a date and time in the {@code "dd-MM-yyyy HH:mm"} format used for deadlines.
+     *
+     * @param dateTime the date and time to be parsed
+     * @return the parsed date and time
+     * @throws DateTimeException if the date and time cannot be parsed
+     */
+    public static LocalDateTime parseDateTime(String dateTime) throws DateTimeException {
+        return LocalDateTime.parse(dateTime, formatter);
+    }
+
+    @Override
+    public DeadlineTask copy() {
+        DeadlineTask copy = new DeadlineTask(getTaskDescription(), deadline, isCompleted());
+        copy.setId(getId());
+        return copy;
+    }
+
+    public LocalDateTime getDeadline() {
+        return this.deadline;
+    }
+
     /**
      * Serializes the {@code DeadlineTask} for storage in persistent memory.
      * @return
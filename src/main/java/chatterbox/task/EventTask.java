@@ -1,5 +1,9 @@
 package chatterbox.task;
 
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
 /**
  * Represents an event task in the ChatterBox application.
  *
@@ -7,12 +11,18 @@ package chatterbox.task;
  * has a start time and an end time. It uses the symbol 'E' to
  * denote its type and inherits common task behavior such as
  * completion status and description.
+ *
+ * <p>Times in the {@code "dd-MM-yyyy HH:mm"} format used by {@link DeadlineTask} are
+ * parsed into {@link LocalDateTime} values and formatted when printed. Events saved
+ * with free-text times by older versions keep their times as they were written.
  */
 public class EventTask extends Task {
 
     private static char symbol = 'E';
     private String startTime;
     private String endTime;
+    private LocalDateTime start;
+    private LocalDateTime end;
 
     /**
      * Creates a new {@code EventTask} with the specified description,
@@ -25,9 +35,7 @@ public class EventTask extends Task {
      * @param endTime the end time of the event
      */
     public EventTask(String description, String startTime, String endTime) {
-        super(description, symbol);
-        this.startTime = startTime;
-        this.endTime = endTime;
+        this(description, startTime, endTime, false);
     }
 
     /**
@@ -45,6 +53,67 @@ public class EventTask extends Task {
         super(description, symbol, isCompleted);
         this.startTime = startTime;
         this.endTime = endTime;
+
+        try {
+            this.start = DeadlineTask.parseDateTime(startTime);
+            this.end = DeadlineTask.parseDateTime(endTime);
+        } catch (DateTimeException e) {
+            this.start = null;
+            this.end = null;
+        }
+    }
+
+    /**
+     * Creates a new {@code EventTask} with the specified description,
+     * parsed start and end times, and completion status.
+     *
+     * @param description the description of the task
+     * @param start the start time of the event
+     * @param end the end time of the event
+     * @param isCompleted whether the task is initially completed
+     */
+    public EventTask(String description, LocalDateTime start, LocalDateTime end, boolean isCompleted) {
+        super(description, symbol, isCompleted);
+        this.startTime = DeadlineTask.formatDateTime(start);
+        this.endTime = DeadlineTask.formatDateTime(end);
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Returns true if both times of the event were parsed into {@code LocalDateTime} values.
+     *
+     * @return whether the event has typed start and end times
+     */
+    public boolean hasTimes() {
+        return this.start != null;
+    }
+
+    /**
+     * Returns the parsed start time, or null if the event was saved with free-text times.
+     *
+     * @return the start time of the event
+     */
+    public LocalDateTime getStart() {
+        return this.start;
+    }
+
+    /**
+     * Returns the parsed end time, or null if the event was saved with free-text times.
+     *
+     * @return the end time of the event
+     */
+    public LocalDateTime getEnd() {
+        return this.end;
+    }
+
+    @Override
+    public EventTask copy() {
+        EventTask copy = hasTimes()
+                ? new EventTask(getTaskDescription(), start, end, isCompleted())
+                : new EventTask(getTaskDescription(), startTime, endTime, isCompleted());
+        copy.setId(getId());
+        return copy;
     }
 
     public String getStartTime() {
@@ -57,7 +126,12 @@ public class EventTask extends Task {
 
     @Override
     public String toString() {
+        if (!hasTimes()) {
+            return String.format("%s (from: %s to: %s)", super.toString(), startTime, endTime);
+        }
+
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM d yyyy HH:mm");
         return String.format("%s (from: %s to: %s)",
-        super.toString(), startTime, endTime);
+        super.toString(), start.format(formatter), end.format(formatter));
     }
 }
@@ -1,5 +1,7 @@
 package chatterbox.task;
 
+import java.util.Objects;
+
 /**
  * Represents an abstract task in the ChatterBox application.
  *
@@ -7,8 +9,13 @@ package chatterbox.task;
  * identifying its type. Subclasses define specific types of tasks
  * (e.g deadline, event, todo) by extending this class
  * and providing additional behaviour or attributes
+ *
+ * <p>Every task stored in a {@link chatterbox.memory.Storage} has a persistent ID.
+ * IDs are assigned in increasing order and never reused, so persistent memory can
+ * look tasks up by ID instead of by their position in the list.
  */
 public abstract class Task {
+    private long id;
     private String description;
     private boolean isCompleted;
     private char symbol;
@@ -42,6 +49,28 @@ public abstract class Task {
         this.isCompleted = isCompleted;
     }
 
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Assigns the persistent ID of this task.
+     * IDs are assigned by {@link chatterbox.memory.Storage} and loaded from persistent memory.
+     *
+     * @param id the persistent ID, or 0 if the task has not been assigned an ID yet.
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns a new task with the same ID, description, completion status and times as this
+     * task, which does not change when this task does.
+     *
+     * @return the copy of this task.
+     */
+    public abstract Task copy();
+
     public boolean isCompleted() {
         return this.isCompleted;
     }
@@ -82,6 +111,11 @@ public abstract class Task {
                 && this.symbol == otherTask.symbol;
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.description, this.symbol);
+    }
+
     @Override
     public String toString() {
         String status = "[" + getTaskSymbol() + "] [" + getStatusIcon() + "]";
@@ -31,4 +31,11 @@ public class TodoTask extends Task {
     public TodoTask(String description, boolean isCompleted) {
         super(description, symbol, isCompleted);
     }
+
+    @Override
+    public TodoTask copy() {
+        TodoTask copy = new TodoTask(getTaskDescription(), isCompleted());
+        copy.setId(getId());
+        return copy;
+    }
 }
@@ -1,8 +1,22 @@
 package chatterbox.ui;
 
-import java.util.Scanner;
+import java.io.BufferedReader;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
 
+import chatterbox.command.CommandLexer;
 import chatterbox.command.CommandProcessor;
+import chatterbox.command.ParsedCommand;
+import chatterbox.command.UndoLog;
+import chatterbox.memory.ConcurrentStorage;
 import chatterbox.memory.MemoryStorage;
 import chatterbox.memory.Storage;
 import chatterbox.task.Task;
@@ -12,7 +26,11 @@ import chatterbox.task.Task;
  */
 public class ChatterBox {
 
-    private Storage<Task> storage = new Storage<>();
+    private Storage<Task> storage = Boolean.getBoolean("chatterbox.storage.concurrent")
+            ? new ConcurrentStorage<>()
+            : new Storage<>();
+    private final UndoLog undoLog = new UndoLog();
+    private final Set<Path> runningScripts = new HashSet<>();
 
     /**
      * Process a single line of user input.
@@ -26,22 +44,95 @@ public class ChatterBox {
      *         or an error message if the input is invalid
      */
     public String run(String input) {
-        Scanner scanner = new Scanner(input);
+        ParsedCommand command = CommandLexer.parse(input);
 
-        if (!scanner.hasNext()) {
-            return "You did not input any command! Try again!";
+        if (!command.isValid()) {
+            return command.error();
         }
 
-        String userInput = scanner.next();
+        if (command.name().equals("run")) {
+            return runScript(command.arguments());
+        }
 
-        if (!CommandProcessor.isCommand(userInput)) {
+        if (!CommandProcessor.isCommand(command.name())) {
             return "Invalid command! Try Again!";
         }
 
-        String result = CommandProcessor.processCommand(storage, scanner, userInput);
+        String result = CommandProcessor.processCommand(storage, undoLog, command);
         return result;
     }
 
+    /**
+     * Runs every line of the reader as a command, writing the response to each command as soon as
+     * it is produced. Changes are written to memory once for the whole batch, or once every
+     * {@code chatterbox.storage.batch.chunk} changes, instead of once per command.
+     * Blank lines are skipped, and the batch stops early at a {@code bye} line.
+     *
+     * @param commands Lines of commands to run
+     * @param out Sink for the responses, one or more lines per command
+     * @return Number of commands run
+     * @throws IOException If the commands cannot be read or the responses cannot be written
+     */
+    public int runBatch(BufferedReader commands, Appendable out) throws IOException {
+        int count = 0;
+        MemoryStorage.beginBatch();
+        try {
+            String line;
+            while ((line = commands.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (line.trim().equalsIgnoreCase("bye")) {
+                    break;
+                }
+
+                out.append(terminated(run(line)));
+                if (out instanceof Flushable) {
+                    ((Flushable) out).flush();
+                }
+                ++count;
+            }
+        } finally {
+            MemoryStorage.endBatch();
+        }
+        return count;
+    }
+
+    private static String terminated(String response) {
+        return response.endsWith("\n") ? response : response + "\n";
+    }
+
+    /**
+     * Runs the commands in the given file as one batch.
+     */
+    private String runScript(String fileName) {
+        if (fileName.isEmpty()) {
+            return "Uh oh! Tell me which file to run! Try: run <file>";
+        }
+
+        Path path;
+        try {
+            path = Paths.get(fileName).toAbsolutePath().normalize();
+        } catch (InvalidPathException e) {
+            return "Uh oh! " + fileName + " is not a valid file name! Try again!";
+        }
+
+        if (!runningScripts.add(path)) {
+            return "Uh oh! " + fileName + " is already running, so it cannot run itself! Try again!";
+        }
+
+        StringBuilder responses = new StringBuilder();
+        try (BufferedReader commands = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            int count = runBatch(commands, responses);
+            return responses.append("Ran ").append(count).append(" commands from ").append(fileName).append(".")
+                    .toString();
+        } catch (IOException e) {
+            return responses.append("Uh oh! I could not read ").append(fileName).append("! Try again!").toString();
+        } finally {
+            runningScripts.remove(path);
+        }
+    }
+
     /**
      * Initializes {@code Task} objects from memory to virtual memory.
      */
@@ -52,21 +143,49 @@ public class ChatterBox {
     }
 
     /**
-     * Starts the ChatterBox application.
-     *
-     * Currently not in use due to switching to GUI.
+     * Writes every pending change to memory before the application exits.
+     */
+    public void shutdown() {
+        MemoryStorage.flush();
+    }
+
+    /**
+     * Starts the ChatterBox application without the GUI, reading commands from standard input.
      *
      * This method initializes stored data, if any, displays a greeting message,
-     * enters the main input loop, and ends with a farewell.
+     * runs every line of input until {@code bye}, and ends with a farewell. Commands typed at a
+     * terminal are answered and saved before the next line is read, so an interactive session
+     * behaves like the GUI. Input piped in from elsewhere, or any input if the
+     * {@code chatterbox.input.batch} property is set, runs as one batch through
+     * {@link #runBatch(BufferedReader, Appendable)}: each response is still written as soon as it
+     * is produced, but changes are saved once at the end or every
+     * {@code chatterbox.storage.batch.chunk} changes.
      *
      * @param args command-line arguments (not used)
      */
     public static void main(String[] args) {
-        /*
-        initialize();
+        ChatterBox chatterBox = new ChatterBox();
+        chatterBox.initialize();
         ChatterBoxUI.greet();
-        run();
+
+        BufferedReader commands = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        try {
+            if (System.console() == null || Boolean.getBoolean("chatterbox.input.batch")) {
+                chatterBox.runBatch(commands, System.out);
+            } else {
+                String line;
+                while ((line = commands.readLine()) != null && !line.trim().equalsIgnoreCase("bye")) {
+                    if (!line.isBlank()) {
+                        System.out.print(terminated(chatterBox.run(line)));
+                        System.out.flush();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Unable to read commands from input!");
+        }
+
+        chatterBox.shutdown();
         ChatterBoxUI.farewell();
-        */
     }
 }
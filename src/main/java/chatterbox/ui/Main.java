@@ -29,5 +29,10 @@ public class Main extends Application {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        chatterBox.shutdown();
+    }
 }
 
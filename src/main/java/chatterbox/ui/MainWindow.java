@@ -74,8 +74,8 @@ public class MainWindow extends AnchorPane {
      *  <li>and adds the bot's response to the container</li>
      * </ul>
      *
-     * If the user enters {@code bye}, a farewell message is displayed
-     * and the application exits after a 2 second delay.
+     * If the user enters {@code bye}, pending changes are flushed to memory,
+     * a farewell message is displayed and the application exits after a 2 second delay.
      * </p>
      */
     @FXML
@@ -84,6 +84,7 @@ public class MainWindow extends AnchorPane {
             String input = userInput.getText() + '\n';
 
             if (input.trim().equalsIgnoreCase("bye")) {
+                chatterBox.shutdown();
                 PauseTransition delay = new PauseTransition(Duration.seconds(2));
 
                 dialogContainer.getChildren().addAll(
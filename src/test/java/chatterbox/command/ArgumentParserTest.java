@@ -0,0 +1,100 @@
+package chatterbox.command;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import chatterbox.memory.Storage;
+import chatterbox.task.Task;
+import chatterbox.task.TodoTask;
+
+public class ArgumentParserTest {
+    @Test
+    public void selection_rangesAndPositions_returnsIndexesInOrder() {
+        Storage<Task> storage = storageOf(10);
+
+        Selection selection = ArgumentParser.selection("9-10,1, 3-4,3");
+
+        assertTrue(selection.problemIn(storage.size()) == null);
+        assertArrayEquals(new int[] {0, 2, 3, 8, 9}, selection.indexesIn(storage));
+    }
+
+    @Test
+    public void selection_badText_returnsProblem() {
+        assertEquals(Selection.Problem.MISSING, ArgumentParser.selection("").problem());
+        assertEquals(Selection.Problem.MALFORMED, ArgumentParser.selection("1,x").problem());
+        assertEquals(Selection.Problem.MALFORMED, ArgumentParser.selection("5-3").problem());
+        assertEquals(Selection.Problem.MALFORMED, ArgumentParser.selection("done todo done").problem());
+        assertEquals(Selection.Problem.OUT_OF_BOUNDS, ArgumentParser.selection("0").problem());
+        assertEquals(Selection.Problem.OUT_OF_BOUNDS, ArgumentParser.selection("1-99999999999").problem());
+    }
+
+    @Test
+    public void selection_positionPastEndOfList_isOutOfBoundsOnlyInThatList() {
+        Selection selection = ArgumentParser.selection("2-400");
+
+        assertEquals(Selection.Problem.OUT_OF_BOUNDS, selection.problemIn(3));
+        assertTrue(selection.problemIn(400) == null);
+    }
+
+    @Test
+    public void event_validTimes_returnsDescriptionAndRange() {
+        Description description = ArgumentParser.event("project meeting /from 18-12-2025 14:00 /to 18-12-2025 16:00");
+
+        assertTrue(description.isValid());
+        assertEquals("project meeting", description.text());
+        assertEquals(LocalDateTime.of(2025, 12, 18, 14, 0), description.times().start());
+        assertEquals(LocalDateTime.of(2025, 12, 18, 16, 0), description.times().end());
+    }
+
+    @Test
+    public void deadline_missingDelimiter_returnsError() {
+        Description description = ArgumentParser.deadline("return book 01-08-2025 16:00");
+
+        assertFalse(description.isValid());
+        assertEquals("Uh oh! You forgot to include the delimiter:  /by \n", description.error());
+    }
+
+    @Test
+    public void due_before_returnsRangeWithoutStart() {
+        TimeRange period = ArgumentParser.due("before 01-08-2025 16:00");
+
+        assertTrue(period.isValid());
+        assertTrue(period.start() == null);
+        assertEquals(LocalDateTime.of(2025, 8, 1, 16, 0), period.end());
+        assertFalse(ArgumentParser.due("between 01-08-2025 16:00 and tomorrow").isValid());
+    }
+
+    @Test
+    public void page_numbersAtTheLimits_returnsPositionsOrError() {
+        PageRange page = ArgumentParser.page(List.of("2147483647"), 50);
+        assertTrue(page.isValid());
+        assertEquals(2147483647L + 49, page.to());
+
+        assertEquals(9223372036854775807L, ArgumentParser.page(List.of("1", "9223372036854775807"), 50).to());
+        assertFalse(ArgumentParser.page(List.of("2147483648"), 50).isValid());
+        assertFalse(ArgumentParser.page(List.of("1", "9223372036854775808"), 50).isValid());
+    }
+
+    @Test
+    public void day_badFormat_returnsError() {
+        assertEquals(LocalDate.of(2025, 12, 18), ArgumentParser.day("18-12-2025").date());
+        assertEquals("Oops! Your day format is incorrect! It should be \"dd-mm-yyyy\". Try Again!\n",
+                ArgumentParser.day("2025-12-18").error());
+    }
+
+    private static Storage<Task> storageOf(int count) {
+        Storage<Task> storage = new Storage<>();
+        for (int i = 1; i <= count; ++i) {
+            storage.addItem(new TodoTask("task " + i));
+        }
+        return storage;
+    }
+}
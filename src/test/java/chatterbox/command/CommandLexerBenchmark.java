@@ -0,0 +1,63 @@
+package chatterbox.command;
+
+import java.util.Scanner;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compares the cost of splitting a line of input into a command and its arguments with a
+ * {@link Scanner}, as {@code ChatterBox.run} used to, against {@link CommandLexer}.
+ *
+ * <p>This is not a test. Run it with {@code ./gradlew benchmarkLexer}.
+ */
+public class CommandLexerBenchmark {
+    private static final String[] LINES = {
+        "todo read book",
+        "deadline return book /by 01-08-2025 16:00",
+        "event project meeting /from 03-08-2025 19:00 /to 03-08-2025 21:00",
+        "mark 1,5,9-20",
+        "list 51 100",
+        "list deadline pending",
+        "find book",
+        "delete 3",
+    };
+    private static final int ROUNDS = 10;
+    private static final int ITERATIONS = 200_000;
+
+    public static void main(String[] args) {
+        for (int round = 1; round <= ROUNDS; ++round) {
+            long scannerNanos = time(CommandLexerBenchmark::parseWithScanner);
+            long lexerNanos = time(CommandLexerBenchmark::parseWithLexer);
+            System.out.printf("round %2d: Scanner %6.1f ns/command, CommandLexer %6.1f ns/command%n", round,
+                    (double) scannerNanos / (ITERATIONS * LINES.length),
+                    (double) lexerNanos / (ITERATIONS * LINES.length));
+        }
+    }
+
+    private static long time(ToIntFunction<String> parser) {
+        int checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; ++i) {
+            for (String line : LINES) {
+                checksum += parser.applyAsInt(line);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (checksum == 42) {
+            System.out.println("Unlikely checksum, printed so the parsing is not optimised away");
+        }
+        return elapsed;
+    }
+
+    private static int parseWithScanner(String line) {
+        Scanner scanner = new Scanner(line);
+        String name = scanner.next();
+        String arguments = scanner.hasNextLine() ? scanner.nextLine().trim() : "";
+        return name.length() + arguments.length();
+    }
+
+    private static int parseWithLexer(String line) {
+        ParsedCommand command = CommandLexer.parse(line);
+        return command.name().length() + command.arguments().length();
+    }
+}
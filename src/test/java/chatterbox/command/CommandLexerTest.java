@@ -0,0 +1,50 @@
+package chatterbox.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class CommandLexerTest {
+    @Test
+    public void parse_surroundingWhitespace_splitsNameAndTrimmedArguments() {
+        ParsedCommand command = CommandLexer.parse("  deadline\treport /by 01-08-2025 16:00  ");
+
+        assertTrue(command.isValid());
+        assertEquals("deadline", command.name());
+        assertEquals("report /by 01-08-2025 16:00", command.arguments());
+    }
+
+    @Test
+    public void parse_nameOnly_returnsEmptyArguments() {
+        ParsedCommand command = CommandLexer.parse("list");
+
+        assertEquals("list", command.name());
+        assertEquals("", command.arguments());
+    }
+
+    @Test
+    public void parse_blankLine_returnsFailure() {
+        ParsedCommand command = CommandLexer.parse(" \t ");
+
+        assertFalse(command.isValid());
+        assertEquals("You did not input any command! Try again!", command.error());
+    }
+
+    @Test
+    public void words_mixedWhitespace_returnsWordsInOrder() {
+        assertEquals(List.of("deadline", "pending"), CommandLexer.words(" deadline \t pending "));
+        assertTrue(CommandLexer.words("   ").isEmpty());
+    }
+
+    @Test
+    public void isNumber_digitsAndOtherText_onlyAcceptsDigits() {
+        assertTrue(CommandLexer.isNumber("0123"));
+        assertFalse(CommandLexer.isNumber(""));
+        assertFalse(CommandLexer.isNumber("-1"));
+        assertFalse(CommandLexer.isNumber("\u0661"));
+    }
+}
@@ -1,11 +1,10 @@
 package chatterbox.command;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import java.util.Scanner;
-
 import org.junit.jupiter.api.Test;
 
 import chatterbox.memory.Storage;
@@ -26,11 +25,9 @@ public class CommandProcessorTest {
     @Test
     public void processCommand_addTodo_addsTaskToStorage() {
         Storage<Task> storage = new Storage<>();
-        String userInput = "Read book\n";
-        Scanner scanner = new Scanner(userInput);
-
-        String response = CommandProcessor.processCommand(storage, scanner, "todo");
+        UndoLog undoLog = new UndoLog();
 
+        String response = CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("todo", "Read book"));
 
         assertEquals(1, storage.size());
         Task task = storage.getItem(0);
@@ -43,9 +40,9 @@ public class CommandProcessorTest {
     @Test
     public void processCommand_emptyTodoDescription_displayErrorMessage() {
         Storage<Task> storage = new Storage<>();
-        Scanner scanner = new Scanner("\n");
+        UndoLog undoLog = new UndoLog();
 
-        String response = CommandProcessor.processCommand(storage, scanner, "todo");
+        String response = CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("todo", ""));
 
         assertEquals(0, storage.size());
         assertEquals("Uh oh! You forgot to include a description for your todo task! Try again!",
@@ -55,9 +52,9 @@ public class CommandProcessorTest {
     @Test
     public void processCommand_invalidCommand_displayErrorMessage() {
         Storage<Task> storage = new Storage<>();
-        Scanner scanner = new Scanner("\n");
+        UndoLog undoLog = new UndoLog();
 
-        String response = CommandProcessor.processCommand(storage, scanner, "foobar");
+        String response = CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("foobar", ""));
 
         assertEquals("Invalid Command!", response.trim());
     }
@@ -65,9 +62,9 @@ public class CommandProcessorTest {
     @Test
     public void processCommand_emptyMarkIndex_displayErrorMessage() {
         Storage<Task> storage = new Storage<>();
-        Scanner scanner = new Scanner("\n");
+        UndoLog undoLog = new UndoLog();
 
-        String response = CommandProcessor.processCommand(storage, scanner, "mark");
+        String response = CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("mark", ""));
 
         assertEquals("Uh oh! You forgot to input an index! Try: mark <index>",
                 response.trim());
@@ -76,9 +73,9 @@ public class CommandProcessorTest {
     @Test
     public void processCommand_emptyUnmarkIndex_displayErrorMessage() {
         Storage<Task> storage = new Storage<>();
-        Scanner scanner = new Scanner("\n");
+        UndoLog undoLog = new UndoLog();
 
-        String response = CommandProcessor.processCommand(storage, scanner, "unmark");
+        String response = CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("unmark", ""));
 
         assertEquals("Uh oh! You forgot to input an index! Try: unmark <index>",
                 response.trim());
@@ -87,9 +84,9 @@ public class CommandProcessorTest {
     @Test
     public void processCommand_emptyDeadlineDescription_displayErrorMessage() {
         Storage<Task> storage = new Storage<>();
-        Scanner scanner = new Scanner("\n");
+        UndoLog undoLog = new UndoLog();
 
-        String response = CommandProcessor.processCommand(storage, scanner, "deadline");
+        String response = CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("deadline", ""));
 
         assertEquals("Uh oh! You forgot to include a description for your deadline task! Try again!",
                 response.trim());
@@ -98,9 +95,9 @@ public class CommandProcessorTest {
     @Test
     public void processCommand_emptyEventDescription_displayErrorMessage() {
         Storage<Task> storage = new Storage<>();
-        Scanner scanner = new Scanner("\n");
+        UndoLog undoLog = new UndoLog();
 
-        String response = CommandProcessor.processCommand(storage, scanner, "event");
+        String response = CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("event", ""));
 
         assertEquals("Uh oh! You forgot to include a description for your event task! Try again!",
                 response.trim());
@@ -109,9 +106,9 @@ public class CommandProcessorTest {
     @Test
     public void processCommand_emptyDeleteIndex_displayErrorMessage() {
         Storage<Task> storage = new Storage<>();
-        Scanner scanner = new Scanner("\n");
+        UndoLog undoLog = new UndoLog();
 
-        String response = CommandProcessor.processCommand(storage, scanner, "delete");
+        String response = CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("delete", ""));
 
         assertEquals("Uh oh! You forgot to input an index! Try: delete <index>",
                 response.trim());
@@ -120,9 +117,9 @@ public class CommandProcessorTest {
     @Test
     public void processCommand_emptyFindDescription_displayErrorMessage() {
         Storage<Task> storage = new Storage<>();
-        Scanner scanner = new Scanner("\n");
+        UndoLog undoLog = new UndoLog();
 
-        String response = CommandProcessor.processCommand(storage, scanner, "find");
+        String response = CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("find", ""));
 
         assertEquals("Uh oh! You forgot to include a description to search for! Try Again!",
                 response.trim());
@@ -131,14 +128,152 @@ public class CommandProcessorTest {
     @Test
     public void processCommand_addDuplicateTask_displayErrorMessage() {
         Storage<Task> storage = new Storage<>();
-        Scanner scanner = new Scanner("task\n");
+        UndoLog undoLog = new UndoLog();
 
         storage.addItem(new TodoTask("task"));
 
-        String response = CommandProcessor.processCommand(storage, scanner, "todo");
+        String response = CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("todo", "task"));
 
         assertEquals("You have already added this task!",
                 response.trim());
         assertTrue(storage.size() == 1);
     }
+
+    @Test
+    public void processCommand_listPage_displaysRangeAndNextPage() {
+        Storage<Task> storage = new Storage<>();
+        UndoLog undoLog = new UndoLog();
+        for (int i = 1; i <= 5; ++i) {
+            storage.addItem(new TodoTask("task " + i));
+        }
+
+        String response = CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("list", "2 3"));
+
+        assertEquals("Here are tasks 2 to 3 of 5 in your list:\n"
+                + "2.[T] [ ] task 2\n"
+                + "3.[T] [ ] task 3\n"
+                + "Type list 4 to see the next page.\n", response);
+    }
+
+    @Test
+    public void processCommand_undoInOtherStorage_leavesFirstStorageAlone() {
+        Storage<Task> storage = new Storage<>();
+        Storage<Task> otherStorage = new Storage<>();
+        CommandProcessor.processCommand(storage, new UndoLog(), ParsedCommand.of("todo", "read book"));
+
+        String response = CommandProcessor.processCommand(otherStorage, new UndoLog(), ParsedCommand.of("undo", ""));
+
+        assertEquals("There is nothing to undo!\n", response);
+        assertEquals(1, storage.size());
+    }
+
+    @Test
+    public void processCommand_redoAddAfterTaskChanged_restoresTaskAsAdded() {
+        Storage<Task> storage = new Storage<>();
+        UndoLog undoLog = new UndoLog();
+        CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("todo", "read book"));
+        Task added = storage.getItem(0);
+
+        CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("undo", ""));
+        added.setCompleted();
+        CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("redo", ""));
+
+        assertEquals(1, storage.size());
+        assertFalse(storage.getItem(0).isCompleted());
+        assertFalse(storage.getItem(0) == added);
+    }
+
+    @Test
+    public void processCommand_undoDelete_restoresTaskAtOldPositionWithOldId() {
+        Storage<Task> storage = new Storage<>();
+        UndoLog undoLog = new UndoLog();
+        addTodos(storage, undoLog, 3);
+        Task deleted = storage.getItem(1);
+
+        CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("delete", "2"));
+        String response = CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("undo", ""));
+
+        assertTrue(response.startsWith("OK, I've undone deleting this task:\n"));
+        assertEquals(3, storage.size());
+        assertEquals(deleted.getId(), storage.getItem(1).getId());
+        assertEquals(deleted.getTaskDescription(), storage.getItem(1).getTaskDescription());
+    }
+
+    @Test
+    public void processCommand_undoBulkDelete_restoresEveryTaskInOrder() {
+        Storage<Task> storage = new Storage<>();
+        UndoLog undoLog = new UndoLog();
+        addTodos(storage, undoLog, 12);
+        long[] ids = idsOf(storage);
+
+        CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("delete", "3-10"));
+        assertEquals(4, storage.size());
+        String response = CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("undo", ""));
+
+        assertTrue(response.startsWith("OK, I've undone deleting these 8 tasks:\n"));
+        assertTrue(response.endsWith("Now you have 12 tasks in the list.\n"));
+        assertArrayEquals(ids, idsOf(storage));
+    }
+
+    @Test
+    public void processCommand_undoMarkAndUnmark_restoresEachTasksPreviousStatus() {
+        Storage<Task> storage = new Storage<>();
+        UndoLog undoLog = new UndoLog();
+        addTodos(storage, undoLog, 2);
+        CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("mark", "2"));
+
+        CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("mark", "1-2"));
+        CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("undo", ""));
+
+        assertFalse(storage.getItem(0).isCompleted());
+        assertTrue(storage.getItem(1).isCompleted());
+
+        CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("unmark", "2"));
+        CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("undo", ""));
+
+        assertFalse(storage.getItem(0).isCompleted());
+        assertTrue(storage.getItem(1).isCompleted());
+    }
+
+    @Test
+    public void processCommand_undoPastCapacity_oldestChangesForgotten() {
+        Storage<Task> storage = new Storage<>();
+        UndoLog undoLog = new UndoLog(2);
+        addTodos(storage, undoLog, 3);
+
+        CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("undo", ""));
+        CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("undo", ""));
+        String response = CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("undo", ""));
+
+        assertEquals("There is nothing to undo!\n", response);
+        assertEquals(1, storage.size());
+    }
+
+    @Test
+    public void processCommand_undoAfterChangeLargerThanCapacity_logCleared() {
+        Storage<Task> storage = new Storage<>();
+        UndoLog undoLog = new UndoLog(3);
+        addTodos(storage, undoLog, 6);
+
+        CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("delete", "1-5"));
+        String response = CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("undo", ""));
+
+        assertEquals("There is nothing to undo!\n", response);
+        assertEquals(1, storage.size());
+    }
+
+    private static void addTodos(Storage<Task> storage, UndoLog undoLog, int count) {
+        long suffix = System.nanoTime();
+        for (int i = 1; i <= count; ++i) {
+            CommandProcessor.processCommand(storage, undoLog, ParsedCommand.of("todo", "task " + i + " " + suffix));
+        }
+    }
+
+    private static long[] idsOf(Storage<Task> storage) {
+        long[] ids = new long[storage.size()];
+        for (int i = 0; i < ids.length; ++i) {
+            ids[i] = storage.getItem(i).getId();
+        }
+        return ids;
+    }
 }
@@ -0,0 +1,74 @@
+package chatterbox.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+public class BKTreeTest {
+    @Test
+    public void search_afterAddsAndRemoves_matchesEveryCloseWord() {
+        Random random = new Random(5);
+        BKTree tree = new BKTree();
+        Set<String> words = new HashSet<>();
+        List<String> added = new ArrayList<>();
+
+        for (int i = 0; i < 3000; ++i) {
+            String word = randomWord(random);
+            tree.add(word);
+            words.add(word);
+            added.add(word);
+        }
+        for (int i = 0; i < 2000; ++i) {
+            String word = added.get(random.nextInt(added.size()));
+            tree.remove(word);
+            words.remove(word);
+        }
+
+        for (int i = 0; i < 200; ++i) {
+            String query = randomWord(random);
+            int maxDistance = 1 + random.nextInt(2);
+            Set<String> expected = new TreeSet<>();
+            for (String word : words) {
+                if (BKTree.distance(query, word, Integer.MAX_VALUE) <= maxDistance) {
+                    expected.add(word);
+                }
+            }
+
+            assertEquals(expected, new TreeSet<>(tree.search(query, maxDistance)), query);
+        }
+    }
+
+    @Test
+    public void distance_knownPairs_returnsEditDistance() {
+        assertEquals(3, BKTree.distance("kitten", "sitting", Integer.MAX_VALUE));
+        assertEquals(2, BKTree.distance("retrun", "return", Integer.MAX_VALUE));
+        assertEquals(0, BKTree.distance("book", "book", Integer.MAX_VALUE));
+        assertEquals(4, BKTree.distance("", "book", Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void search_nonAsciiWords_findsCloseWords() {
+        BKTree tree = new BKTree();
+        tree.add("caf\u00e9");
+        tree.add("na\u00efve");
+        tree.add("coffee");
+
+        assertEquals(List.of("caf\u00e9"), tree.search("cafe", 1));
+        assertEquals(List.of("na\u00efve"), tree.search("n\u00e4\u00efve", 1));
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int length = 3 + random.nextInt(5); length > 0; --length) {
+            word.append((char) ('a' + random.nextInt(6)));
+        }
+        return word.toString();
+    }
+}
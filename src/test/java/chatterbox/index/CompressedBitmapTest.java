@@ -0,0 +1,43 @@
+package chatterbox.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+public class CompressedBitmapTest {
+    @Test
+    public void and_sparseAndDenseChunks_matchesSets() {
+        Random random = new Random(3);
+        CompressedBitmap first = new CompressedBitmap();
+        CompressedBitmap second = new CompressedBitmap();
+        TreeSet<Long> firstIds = new TreeSet<>();
+        TreeSet<Long> secondIds = new TreeSet<>();
+
+        for (int i = 0; i < 60000; ++i) {
+            long dense = 1 + random.nextInt(20000);
+            long sparse = random.nextInt(1 << 20);
+            first.add(dense);
+            firstIds.add(dense);
+            long other = random.nextBoolean() ? dense : sparse;
+            second.add(other);
+            secondIds.add(other);
+        }
+        for (int i = 0; i < 15000; ++i) {
+            long id = random.nextInt(20000);
+            first.remove(id);
+            firstIds.remove(id);
+        }
+
+        TreeSet<Long> expected = new TreeSet<>(firstIds);
+        expected.retainAll(secondIds);
+        assertEquals(firstIds.size(), first.cardinality());
+        assertEquals(Arrays.toString(firstIds.stream().mapToLong(Long::longValue).toArray()),
+                Arrays.toString(first.toArray()));
+        assertEquals(Arrays.toString(expected.stream().mapToLong(Long::longValue).toArray()),
+                Arrays.toString(first.and(second).toArray()));
+    }
+}
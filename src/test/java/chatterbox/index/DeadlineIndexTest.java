@@ -0,0 +1,107 @@
+package chatterbox.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import chatterbox.memory.Storage;
+import chatterbox.task.DeadlineTask;
+import chatterbox.task.Task;
+import chatterbox.task.TodoTask;
+
+public class DeadlineIndexTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 2, 0, 0);
+
+    @Test
+    public void searchTasksDueBetween_mixedTasks_returnsDeadlinesInOrder() {
+        Storage<Task> storage = new Storage<>();
+        storage.addItem(new DeadlineTask("late", "05-01-2025 10:00"));
+        storage.addItem(new TodoTask("no deadline"));
+        storage.addItem(new DeadlineTask("early", "01-01-2025 10:00"));
+        storage.addItem(new DeadlineTask("middle", "03-01-2025 10:00"));
+
+        List<Task> tasks = storage.searchTasksDueBetween(LocalDateTime.of(2025, 1, 1, 10, 0),
+                LocalDateTime.of(2025, 1, 3, 10, 0));
+        assertEquals(2, tasks.size());
+        assertEquals("early", tasks.get(0).getTaskDescription());
+        assertEquals("middle", tasks.get(1).getTaskDescription());
+
+        storage.removeItem(2);
+        tasks = storage.searchTasksDueBefore(LocalDateTime.of(2025, 1, 5, 10, 0));
+        assertEquals(1, tasks.size());
+        assertEquals("middle", tasks.get(0).getTaskDescription());
+    }
+
+    @Test
+    public void searchUpcomingDeadlines_afterMarkUnmarkAndDelete_returnsNearestPending() {
+        Storage<Task> storage = new Storage<>();
+        storage.addItem(new DeadlineTask("overdue", "01-01-2025 10:00"));
+        storage.addItem(new DeadlineTask("third", "05-01-2025 10:00"));
+        storage.addItem(new TodoTask("no deadline"));
+        storage.addItem(new DeadlineTask("first", "03-01-2025 10:00"));
+        storage.addItem(new DeadlineTask("second", "04-01-2025 10:00"));
+
+        assertEquals(List.of("first", "second"), descriptionsOf(storage.searchUpcomingDeadlines(NOW, 2)));
+
+        storage.updateItemCompletion(3, true);
+        assertEquals(List.of("second", "third"), descriptionsOf(storage.searchUpcomingDeadlines(NOW, 2)));
+
+        storage.updateItemCompletion(3, false);
+        storage.removeItem(4);
+        assertEquals(List.of("first", "third"), descriptionsOf(storage.searchUpcomingDeadlines(NOW, 5)));
+    }
+
+    @Test
+    public void findUpcoming_completedTasksAndHugeCount_returnsOnlyPendingTasks() {
+        DeadlineIndex index = new DeadlineIndex();
+        for (int i = 1; i <= 40; ++i) {
+            DeadlineTask task = new DeadlineTask("task " + i, String.format("%02d-01-2025 10:00", (i + 1) / 2 + 1),
+                    i % 4 == 0);
+            task.setId(i);
+            index.add(task);
+        }
+
+        long[] ids = index.findUpcoming(NOW, Integer.MAX_VALUE);
+
+        assertEquals(30, ids.length);
+        assertEquals(1, ids[0]);
+        assertEquals(39, ids[29]);
+        assertEquals(5, index.findUpcoming(NOW, 5).length);
+        assertEquals(0, index.findUpcoming(LocalDateTime.of(2026, 1, 1, 0, 0), 5).length);
+    }
+
+    @Test
+    public void findUpcoming_mostTasksMarkedThenOneUnmarked_returnsOnlyPendingTasks() {
+        DeadlineIndex index = new DeadlineIndex();
+        List<DeadlineTask> tasks = new ArrayList<>();
+        for (int i = 1; i <= 1000; ++i) {
+            DeadlineTask task = new DeadlineTask("task " + i, NOW.plusMinutes(i), false);
+            task.setId(i);
+            tasks.add(task);
+            index.add(task);
+        }
+        for (DeadlineTask task : tasks.subList(0, 998)) {
+            task.setCompleted();
+            index.updateStatus(task);
+            index.updateStatus(task);
+        }
+        tasks.get(499).setIncomplete();
+        index.updateStatus(tasks.get(499));
+
+        assertArrayEquals(new long[] {500, 999, 1000}, index.findUpcoming(NOW, 5));
+        assertArrayEquals(new long[] {500}, index.findUpcoming(NOW, 1));
+        index.remove(tasks.get(999));
+        assertArrayEquals(new long[] {500, 999}, index.findUpcoming(NOW, 5));
+    }
+
+    private static List<String> descriptionsOf(List<Task> tasks) {
+        List<String> descriptions = new ArrayList<>();
+        tasks.forEach(task -> descriptions.add(task.getTaskDescription()));
+        return descriptions;
+    }
+}
@@ -0,0 +1,166 @@
+package chatterbox.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import chatterbox.task.Task;
+import chatterbox.task.TodoTask;
+
+public class FuzzyIndexTest {
+    private static final String[] WORDS = {"alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf",
+        "hotel", "india", "juliett", "kilo", "lima", "mike", "november", "oscar", "papa", "quebec", "romeo",
+        "sierra", "tango", "uniform", "victor", "whiskey", "xray", "yankee", "zulu"};
+
+    @Test
+    public void findApproximately_afterAddsAndRemoves_matchesLevenshteinScan() {
+        Random random = new Random(11);
+        FuzzyIndex index = new FuzzyIndex();
+        TreeMap<Long, Task> indexed = new TreeMap<>();
+        long nextId = 1;
+
+        for (int i = 0; i < 2000; ++i) {
+            Task task = task(nextId++, randomText(random));
+            index.add(task);
+            indexed.put(task.getId(), task);
+        }
+        assertMatchesScan(random, index, indexed);
+
+        List<Long> ids = new ArrayList<>(indexed.keySet());
+        for (int i = 0; i < 1700; ++i) {
+            Task task = indexed.remove(ids.remove(random.nextInt(ids.size())));
+            index.remove(task);
+        }
+        assertMatchesScan(random, index, indexed);
+
+        for (int i = 0; i < 300; ++i) {
+            Task task = task(nextId++, randomText(random));
+            index.add(task);
+            indexed.put(task.getId(), task);
+        }
+        assertMatchesScan(random, index, indexed);
+    }
+
+    @Test
+    public void findApproximately_shortAndLongWords_allowOneAndTwoEdits() {
+        FuzzyIndex index = new FuzzyIndex();
+        index.add(task(1, "book"));
+        index.add(task(2, "return"));
+        index.add(task(3, "apple"));
+
+        assertArrayEquals(new long[] {1}, index.findApproximately("bok"));
+        assertArrayEquals(new long[0], index.findApproximately("bo"));
+        assertArrayEquals(new long[] {2}, index.findApproximately("retrun"));
+        assertArrayEquals(new long[0], index.findApproximately("rtrn"));
+        assertArrayEquals(new long[] {3}, index.findApproximately("aplpe"));
+        assertArrayEquals(new long[0], index.findApproximately("ale"));
+    }
+
+    @Test
+    public void findApproximately_severalWords_returnsTasksCloseToEveryWord() {
+        FuzzyIndex index = new FuzzyIndex();
+        index.add(task(1, "Read book"));
+        index.add(task(2, "read paper"));
+        index.add(task(3, "buy book"));
+
+        assertArrayEquals(new long[] {1, 2}, index.findApproximately("reed"));
+        assertArrayEquals(new long[] {1}, index.findApproximately("reed BOK"));
+        assertArrayEquals(new long[] {1, 3}, index.findApproximately("bok"));
+        assertArrayEquals(new long[0], index.findApproximately("buy paper"));
+        assertTrue(index.findApproximately("  ") == null);
+    }
+
+    @Test
+    public void findApproximately_mostWordsRemoved_findsRemainingAndReaddedWords() {
+        FuzzyIndex index = new FuzzyIndex();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < WORDS.length; ++i) {
+            Task task = task(i + 1, WORDS[i]);
+            tasks.add(task);
+            index.add(task);
+        }
+
+        for (int i = 0; i < 20; ++i) {
+            index.remove(tasks.get(i));
+        }
+        index.add(tasks.get(0));
+
+        assertArrayEquals(new long[] {1}, index.findApproximately("alpah"));
+        assertArrayEquals(new long[0], index.findApproximately("bravp"));
+        assertArrayEquals(new long[0], index.findApproximately("hotel"));
+        assertArrayEquals(new long[] {21}, index.findApproximately("unifrom"));
+        assertArrayEquals(new long[] {26}, index.findApproximately("zullu"));
+    }
+
+    private static void assertMatchesScan(Random random, FuzzyIndex index, TreeMap<Long, Task> indexed) {
+        for (int i = 0; i < 200; ++i) {
+            String query = random.nextInt(3) == 0 ? randomWord(random) + " " + randomWord(random) : randomWord(random);
+            List<Long> expected = new ArrayList<>();
+            for (Task task : indexed.values()) {
+                if (isCloseToEveryWord(task.getTaskDescription(), query)) {
+                    expected.add(task.getId());
+                }
+            }
+
+            assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(),
+                    index.findApproximately(query), query);
+        }
+    }
+
+    private static boolean isCloseToEveryWord(String description, String query) {
+        for (String queryWord : query.split(" ")) {
+            int maxDistance = queryWord.length() > 4 ? 2 : 1;
+            boolean isClose = false;
+            for (String word : description.split(" ")) {
+                isClose |= levenshtein(queryWord, word) <= maxDistance;
+            }
+            if (!isClose) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int levenshtein(String first, String second) {
+        int[][] table = new int[first.length() + 1][second.length() + 1];
+        for (int i = 0; i <= first.length(); ++i) {
+            for (int j = 0; j <= second.length(); ++j) {
+                if (i == 0 || j == 0) {
+                    table[i][j] = i + j;
+                } else {
+                    int substitution = table[i - 1][j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                    table[i][j] = Math.min(substitution, Math.min(table[i - 1][j], table[i][j - 1]) + 1);
+                }
+            }
+        }
+        return table[first.length()][second.length()];
+    }
+
+    private static Task task(long id, String description) {
+        Task task = new TodoTask(description);
+        task.setId(id);
+        return task;
+    }
+
+    private static String randomText(Random random) {
+        StringBuilder text = new StringBuilder(randomWord(random));
+        for (int i = random.nextInt(3); i > 0; --i) {
+            text.append(' ').append(randomWord(random));
+        }
+        return text.toString();
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0, length = 2 + random.nextInt(6); i < length; ++i) {
+            word.append("abcde".charAt(random.nextInt(5)));
+        }
+        return word.toString();
+    }
+}
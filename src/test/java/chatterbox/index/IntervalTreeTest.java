@@ -0,0 +1,47 @@
+package chatterbox.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IntervalTreeTest {
+    @Test
+    public void findOverlapping_randomIntervals_matchesScan() {
+        Random random = new Random(7);
+        IntervalTree tree = new IntervalTree();
+        List<long[]> intervals = new ArrayList<>();
+
+        for (long id = 1; id <= 2000; ++id) {
+            long start = random.nextInt(10000);
+            long[] interval = {start, start + random.nextInt(200), id};
+            intervals.add(interval);
+            tree.add(interval[0], interval[1], id);
+            if (random.nextInt(3) == 0) {
+                long[] removed = intervals.remove(random.nextInt(intervals.size()));
+                tree.remove(removed[0], removed[2]);
+            }
+        }
+        assertEquals(intervals.size(), tree.size());
+
+        intervals.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[2], b[2]));
+        for (int i = 0; i < 200; ++i) {
+            long from = random.nextInt(10500) - 200;
+            long to = from + random.nextInt(300);
+
+            List<Long> expected = new ArrayList<>();
+            for (long[] interval : intervals) {
+                if (interval[0] <= to && interval[1] >= from) {
+                    expected.add(interval[2]);
+                }
+            }
+
+            long[] actual = tree.findOverlapping(from, to);
+            assertEquals(expected.toString(), Arrays.toString(actual), "window " + from + ".." + to);
+        }
+    }
+}
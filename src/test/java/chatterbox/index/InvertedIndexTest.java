@@ -0,0 +1,88 @@
+package chatterbox.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import chatterbox.memory.Storage;
+import chatterbox.task.Task;
+import chatterbox.task.TodoTask;
+
+public class InvertedIndexTest {
+    private static final String[] WORDS = {"read", "book", "return", "books", "cook", "a", "bookend", ""};
+
+    @Test
+    public void searchTasksByDescription_randomQueries_matchesContains() {
+        Random random = new Random(42);
+        Storage<Task> storage = new Storage<>();
+        for (int i = 0; i < 500; ++i) {
+            storage.addItem(new TodoTask(randomText(random, 1 + random.nextInt(4))));
+        }
+        storage.searchTasksByDescription("book");
+        for (int i = 0; i < 100; ++i) {
+            storage.removeItem(random.nextInt(storage.size()));
+            storage.addItem(new TodoTask(randomText(random, 3)));
+        }
+
+        for (int i = 0; i < 300; ++i) {
+            String query = randomText(random, 1 + random.nextInt(3));
+            int start = random.nextInt(Math.max(1, query.length()));
+            query = query.substring(start, start + random.nextInt(query.length() - start + 1));
+            if (query.isEmpty()) {
+                continue;
+            }
+
+            List<Long> expected = new ArrayList<>();
+            for (int index = 0; index < storage.size(); ++index) {
+                if (storage.getItem(index).getTaskDescription().contains(query)) {
+                    expected.add(storage.getItem(index).getId());
+                }
+            }
+            List<Long> actual = new ArrayList<>();
+            for (Task task : storage.searchTasksByDescription(query)) {
+                actual.add(task.getId());
+            }
+            assertEquals(expected, actual, query);
+        }
+    }
+
+    @Test
+    public void searchTasksByDescription_substringOfRemovedWord_findsOnlyRemainingTasks() {
+        Storage<Task> storage = new Storage<>();
+        storage.addItem(new TodoTask("bookend sale"));
+        storage.addItem(new TodoTask("notebook"));
+        storage.addItem(new TodoTask("cookbook"));
+        storage.searchTasksByDescription("ook");
+
+        storage.removeItem(0);
+
+        assertEquals(2, storage.searchTasksByDescription("ook").size());
+        assertEquals(0, storage.searchTasksByDescription("kend").size());
+
+        storage.addItem(new TodoTask("weekend"));
+
+        assertEquals(1, storage.searchTasksByDescription("kend").size());
+        assertEquals("weekend", storage.searchTasksByDescription("eken").get(0).getTaskDescription());
+    }
+
+    @Test
+    public void findCandidates_onlySpaces_returnsNull() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(new TodoTask("read  book"));
+
+        assertNull(index.findCandidates("  "));
+    }
+
+    private static String randomText(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; ++i) {
+            text.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package chatterbox.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+public class TrigramIndexTest {
+    @Test
+    public void findWordsContaining_afterRemovals_matchesContains() {
+        Random random = new Random(7);
+        TrigramIndex index = new TrigramIndex();
+        TreeSet<String> indexed = new TreeSet<>();
+
+        for (int round = 0; round < 2000; ++round) {
+            String word = randomWord(random);
+            if (indexed.remove(word)) {
+                index.remove(word);
+            } else {
+                indexed.add(word);
+                index.add(word);
+            }
+        }
+
+        for (int i = 0; i < 200; ++i) {
+            String query = randomWord(random).substring(0, 3);
+            List<String> expected = new ArrayList<>();
+            for (String word : indexed) {
+                if (word.contains(query)) {
+                    expected.add(word);
+                }
+            }
+
+            List<String> actual = new ArrayList<>(index.findWordsContaining(query));
+            Collections.sort(actual);
+            assertEquals(expected, actual, query);
+        }
+    }
+
+    @Test
+    public void findWordsContaining_removedAndReaddedWords_findsLatestWords() {
+        TrigramIndex index = new TrigramIndex();
+        index.add("bookend");
+        index.add("notebook");
+        index.remove("bookend");
+        index.add("weekend");
+        index.remove("notebook");
+        index.add("bookend");
+
+        assertEquals(List.of("bookend"), index.findWordsContaining("ook"));
+        assertEquals(2, index.findWordsContaining("end").size());
+        assertEquals(List.of(), index.findWordsContaining("ebo"));
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0, length = 3 + random.nextInt(4); i < length; ++i) {
+            word.append("abcd".charAt(random.nextInt(4)));
+        }
+        return word.toString();
+    }
+}
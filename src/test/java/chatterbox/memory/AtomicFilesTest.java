@@ -0,0 +1,41 @@
+package chatterbox.memory;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AtomicFilesTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void replace_existingFile_replacesContentsAndRemovesTempFile() throws IOException {
+        File file = tempDir.resolve("tasks.txt").toFile();
+        Files.writeString(file.toPath(), "1 | T | 0 | borrow book\n2 | T | 0 | read book\n");
+
+        AtomicFiles.replace(file, "1 | T | 1 | borrow book\n".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("1 | T | 1 | borrow book\n", Files.readString(file.toPath()));
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void replace_staleTempFileFromCrash_overwritesIt() throws IOException {
+        File file = tempDir.resolve("tasks.txt").toFile();
+        Files.writeString(tempDir.resolve("tasks.txt.tmp"), "half-written contents of a much longer file");
+
+        AtomicFiles.replace(file, new byte[] {'o', 'k'});
+
+        assertArrayEquals(new byte[] {'o', 'k'}, Files.readAllBytes(file.toPath()));
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+}
@@ -0,0 +1,70 @@
+package chatterbox.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import chatterbox.task.Task;
+import chatterbox.task.TodoTask;
+
+public class BTreeTaskFileTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_tasksAddedOutOfOrder_returnsTasksInIdOrder() throws IOException {
+        File file = tempDir.resolve("tasks.btree").toFile();
+        BTreeTaskFile tree = BTreeTaskFile.open(file);
+        for (int i = 0; i < 5000; ++i) {
+            Task task = new TodoTask("task " + i + (i % 100 == 0 ? " " + "x".repeat(5000) : ""));
+            task.setId((i * 7919L) % 5000 + 1);
+            tree.append(task);
+        }
+        tree.updateStatus(42, true);
+        for (long id = 2; id <= 5000; id += 2) {
+            tree.delete(id);
+        }
+        tree.close();
+
+        Storage<Task> storage = new Storage<>();
+        assertFalse(BTreeTaskFile.open(file).load(storage));
+
+        assertEquals(2500, storage.size());
+        for (int i = 0; i < storage.size(); ++i) {
+            assertEquals(2 * i + 1, storage.getItem(i).getId());
+        }
+        assertTrue(storage.getItem(storage.indexOfId(43)).toString().startsWith("[T] [ ] task "));
+    }
+
+    @Test
+    public void load_damagedLeaf_dropsOnlyItsTasks() throws IOException {
+        File file = tempDir.resolve("tasks.btree").toFile();
+        BTreeTaskFile tree = BTreeTaskFile.open(file);
+        for (int i = 0; i < 2000; ++i) {
+            Task task = new TodoTask("task " + i);
+            task.setId(i + 1);
+            tree.append(task);
+        }
+        tree.close();
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.seek(4096 * 2 + 100);
+            raw.write(0x7f);
+        }
+
+        Storage<Task> storage = new Storage<>();
+        assertTrue(BTreeTaskFile.open(file).load(storage));
+        Storage<Task> reloaded = new Storage<>();
+        assertFalse(BTreeTaskFile.open(file).load(reloaded));
+
+        assertTrue(storage.size() > 0 && storage.size() < 2000);
+        assertEquals(storage.size(), reloaded.size());
+    }
+}
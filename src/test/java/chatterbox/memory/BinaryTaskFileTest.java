@@ -0,0 +1,131 @@
+package chatterbox.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import chatterbox.task.DeadlineTask;
+import chatterbox.task.EventTask;
+import chatterbox.task.Task;
+import chatterbox.task.TodoTask;
+
+public class BinaryTaskFileTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_appendedTasks_returnsSameTasksInOrder() throws IOException {
+        File file = tempDir.resolve("tasks.bin").toFile();
+        Storage<Task> storage = new Storage<>();
+        storage.addItem(new TodoTask("borrow book"));
+        storage.addItem(new DeadlineTask("return book", "18-12-2025 18:00", true));
+        storage.addItem(new EventTask("project meeting", "Mon 2pm", "4pm"));
+        BinaryTaskFile taskFile = BinaryTaskFile.open(file);
+        for (int i = 0; i < storage.size(); ++i) {
+            taskFile.append(storage.getItem(i));
+        }
+        taskFile.close();
+
+        List<Task> tasks = BinaryTaskFile.readAll(file);
+
+        assertEquals(3, tasks.size());
+        assertEquals(2, tasks.get(1).getId());
+        assertEquals("[T] [ ] borrow book", tasks.get(0).toString());
+        assertEquals("[D] [X] return book (by: Dec 18 2025 18:00)", tasks.get(1).toString());
+        assertEquals("[E] [ ] project meeting (from: Mon 2pm to: 4pm)", tasks.get(2).toString());
+    }
+
+    @Test
+    public void updateStatusAndDelete_reopenedFile_reflectsChanges() throws IOException {
+        File file = tempDir.resolve("tasks.bin").toFile();
+        Storage<Task> storage = new Storage<>();
+        BinaryTaskFile taskFile = BinaryTaskFile.open(file);
+        for (int i = 0; i < 500; ++i) {
+            Task task = new TodoTask("task " + i);
+            storage.addItem(task);
+            taskFile.append(task);
+        }
+        taskFile.updateStatus(2, true);
+        taskFile.delete(1);
+        taskFile.close();
+
+        List<Task> tasks = BinaryTaskFile.readAll(file);
+
+        assertEquals(499, tasks.size());
+        assertEquals("task 1", tasks.get(0).getTaskDescription());
+        assertTrue(tasks.get(0).isCompleted());
+        assertFalse(tasks.get(1).isCompleted());
+    }
+
+    @Test
+    public void convert_textToBinaryAndBack_preservesValidLines() throws IOException {
+        File textFile = tempDir.resolve("tasks.txt").toFile();
+        File binaryFile = tempDir.resolve("tasks.bin").toFile();
+        File convertedFile = tempDir.resolve("converted.txt").toFile();
+        List<String> lines = List.of("1 | T | 1 | borrow book", "2 | D | 0 | return book | 18-12-2025 18:00",
+                "3 | E | 0 | project meeting | Mon 2pm | 4pm");
+        Files.write(textFile.toPath(), List.of(lines.get(0), "X | corrupted", lines.get(1), lines.get(2)),
+                StandardCharsets.UTF_8);
+
+        int corruptedLines = TaskFileConverter.toBinary(textFile, binaryFile);
+        TaskFileConverter.toText(binaryFile, convertedFile);
+
+        assertEquals(1, corruptedLines);
+        assertEquals(lines, Files.readAllLines(convertedFile.toPath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void convert_linesWithoutIds_assignsIdsInFileOrder() throws IOException {
+        File textFile = tempDir.resolve("tasks.txt").toFile();
+        File binaryFile = tempDir.resolve("tasks.bin").toFile();
+        Files.write(textFile.toPath(), List.of("T | 0 | first", "T | 1 | second"), StandardCharsets.UTF_8);
+
+        TaskFileConverter.toBinary(textFile, binaryFile);
+        List<Task> tasks = BinaryTaskFile.readAll(binaryFile);
+
+        assertEquals(1, tasks.get(0).getId());
+        assertEquals(2, tasks.get(1).getId());
+    }
+
+    @Test
+    public void load_mostlyDeletedRecords_compactsIntoNewFile() throws IOException {
+        File file = tempDir.resolve("tasks.bin").toFile();
+        Storage<Task> storage = new Storage<>();
+        BinaryTaskFile taskFile = BinaryTaskFile.open(file);
+        for (int i = 0; i < 2000; ++i) {
+            Task task = new TodoTask("task " + i);
+            storage.addItem(task);
+            taskFile.append(task);
+        }
+        for (long id = 1; id <= 1990; ++id) {
+            taskFile.delete(id);
+        }
+        taskFile.close();
+        long length = file.length();
+
+        Storage<Task> loaded = new Storage<>();
+        BinaryTaskFile reopened = BinaryTaskFile.open(file);
+        reopened.load(loaded);
+        reopened.updateStatus(1995, true);
+        reopened.close();
+        List<Task> tasks = BinaryTaskFile.readAll(file);
+
+        assertTrue(file.length() < length);
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+        assertEquals(10, loaded.size());
+        assertEquals(10, tasks.size());
+        assertEquals(1991, tasks.get(0).getId());
+        assertTrue(tasks.get(4).isCompleted());
+        assertFalse(tasks.get(5).isCompleted());
+    }
+}
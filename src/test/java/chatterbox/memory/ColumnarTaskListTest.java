@@ -0,0 +1,110 @@
+package chatterbox.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import chatterbox.task.DeadlineTask;
+import chatterbox.task.EventTask;
+import chatterbox.task.Task;
+import chatterbox.task.TodoTask;
+
+public class ColumnarTaskListTest {
+    @Test
+    public void get_everyTaskType_matchesAddedTask() {
+        List<Task> expected = new ArrayList<>();
+        expected.add(new TodoTask("borrow book"));
+        expected.add(new DeadlineTask("return book", "01-08-2025 16:00", true));
+        expected.add(new EventTask("project meeting", "02-08-2025 14:00", "02-08-2025 16:00"));
+        expected.add(new EventTask("old meeting", "Mon 2pm", "4pm"));
+        expected.add(new TodoTask("caf\u00e9 \u2615"));
+
+        ColumnarTaskList tasks = new ColumnarTaskList();
+        for (int i = 0; i < expected.size(); ++i) {
+            expected.get(i).setId(i + 1);
+            tasks.add(expected.get(i));
+        }
+
+        for (int i = 0; i < expected.size(); ++i) {
+            assertEquals(expected.get(i).toString(), tasks.get(i).toString());
+            assertEquals(i + 1, tasks.idAt(i));
+        }
+    }
+
+    @Test
+    public void removeAndSet_manyTasks_keepsRowsAligned() {
+        ColumnarTaskList tasks = new ColumnarTaskList();
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= 1000; ++i) {
+            Task task = new TodoTask("task " + i, i % 3 == 0);
+            task.setId(i);
+            tasks.add(task);
+            expected.add(task.toString());
+        }
+
+        for (int i = 0; i < 700; ++i) {
+            tasks.remove(i % tasks.size());
+            expected.remove(i % expected.size());
+        }
+        Task marked = tasks.get(10);
+        marked.setCompleted();
+        tasks.set(10, marked);
+        expected.set(10, marked.toString());
+
+        List<String> actual = new ArrayList<>();
+        tasks.forEach(task -> actual.add(task.toString()));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void removeAll_sortedPositions_matchesRemovingOneByOne() {
+        Random random = new Random(3);
+        ColumnarTaskList tasks = new ColumnarTaskList();
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= 1000; ++i) {
+            Task task = new TodoTask("task " + i, random.nextBoolean());
+            task.setId(i);
+            tasks.add(task);
+            expected.add(task.toString());
+        }
+
+        tasks.removeAll(IntStream.range(60, 200).toArray());
+        expected.subList(60, 200).clear();
+        assertEquals(expected, toStrings(tasks));
+
+        for (int round = 0; round < 20; ++round) {
+            int[] positions = random.ints(1 + random.nextInt(40), 0, tasks.size()).distinct().sorted().toArray();
+            tasks.removeAll(positions);
+            for (int i = positions.length - 1; i >= 0; --i) {
+                expected.remove(positions[i]);
+            }
+            assertEquals(expected, toStrings(tasks));
+        }
+    }
+
+    @Test
+    public void removeAll_unsortedPositions_throwsAndKeepsTasks() {
+        ColumnarTaskList tasks = new ColumnarTaskList();
+        for (int i = 1; i <= 3; ++i) {
+            Task task = new TodoTask("task " + i);
+            task.setId(i);
+            tasks.add(task);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> tasks.removeAll(new int[] {2, 0}));
+        assertThrows(IndexOutOfBoundsException.class, () -> tasks.removeAll(new int[] {1, 3}));
+        assertEquals(3, tasks.size());
+    }
+
+    private static List<String> toStrings(List<Task> tasks) {
+        List<String> strings = new ArrayList<>();
+        tasks.forEach(task -> strings.add(task.toString()));
+        return strings;
+    }
+}
@@ -0,0 +1,161 @@
+package chatterbox.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import chatterbox.task.Task;
+import chatterbox.task.TodoTask;
+
+public class ConcurrentStorageTest {
+    private static final int READERS = 6;
+    private static final int LIST_SIZE = 2000;
+    private static final long DURATION_MILLIS = 1000;
+
+    @Test
+    public void readersAndWriters_hammered_alwaysSeeConsistentList() throws InterruptedException {
+        Storage<Task> storage = new ConcurrentStorage<>();
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        AtomicBoolean isRunning = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<>();
+
+        threads.add(new Thread(() -> {
+            Random random = new Random(1);
+            long added = 0;
+            while (isRunning.get()) {
+                if (storage.size() < LIST_SIZE) {
+                    storage.addItem(new TodoTask("task " + ++added));
+                } else if (random.nextBoolean()) {
+                    storage.removeItem(random.nextInt(LIST_SIZE / 2));
+                } else {
+                    storage.updateItemCompletion(random.nextInt(LIST_SIZE / 2), random.nextBoolean());
+                }
+            }
+        }));
+        for (int r = 0; r < READERS; ++r) {
+            threads.add(new Thread(() -> {
+                try {
+                    while (isRunning.get()) {
+                        checkList(storage.displayItems(), failures);
+                        for (Task task : storage.searchTasksByDescription("task 1")) {
+                            if (!task.getTaskDescription().contains("task 1")) {
+                                failures.add("find returned " + task);
+                            }
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    failures.add(e.toString());
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        Thread.sleep(DURATION_MILLIS);
+        isRunning.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        checkList(storage.displayItems(), failures);
+        assertEquals("[]", failures.toString());
+    }
+
+    @Test
+    public void writer_readersInLongScans_makesProgressWhileReadersSeeTheirSnapshot() throws Exception {
+        Storage<Task> storage = new ConcurrentStorage<>();
+        CountDownLatch scanning = new CountDownLatch(READERS);
+        CountDownLatch release = new CountDownLatch(1);
+        storage.addItem(new StallingTask("task 1", scanning, release));
+        for (int i = 2; i <= 10; ++i) {
+            storage.addItem(new TodoTask("task " + i));
+        }
+        Queue<String> outputs = new ConcurrentLinkedQueue<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < READERS; ++r) {
+            readers.add(new Thread(() -> outputs.add(storage.displayItems())));
+        }
+        readers.forEach(Thread::start);
+        assertTrue(scanning.await(5, TimeUnit.SECONDS));
+
+        Thread writer = new Thread(() -> {
+            for (int i = 11; i <= LIST_SIZE; ++i) {
+                storage.addItem(new TodoTask("task " + i));
+            }
+            storage.removeItems(new int[] {1, 2});
+            storage.updateItemsCompletion(new int[] {1, 2}, true);
+        });
+        writer.start();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        boolean isWriterDone = !writer.isAlive();
+        release.countDown();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        writer.join();
+
+        assertTrue(isWriterDone);
+        assertEquals(LIST_SIZE - 2, storage.size());
+        assertEquals(READERS, outputs.size());
+        for (String output : outputs) {
+            assertEquals(10, output.split("\n").length);
+            assertTrue(output.contains("2.[T] [ ] task 2\n"));
+        }
+    }
+
+    /**
+     * A task that stalls whenever it is shown until it is released, as in a long scan.
+     */
+    private static final class StallingTask extends TodoTask {
+        private final CountDownLatch scanning;
+        private final CountDownLatch release;
+
+        private StallingTask(String description, CountDownLatch scanning, CountDownLatch release) {
+            super(description);
+            this.scanning = scanning;
+            this.release = release;
+        }
+
+        @Override
+        public String toString() {
+            scanning.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.toString();
+        }
+    }
+
+    /**
+     * Checks that the list is numbered from 1 without gaps and that its tasks are in the order
+     * they were added, which a read mixing two states of the list would break.
+     */
+    private static void checkList(String list, Queue<String> failures) {
+        long previous = 0;
+        int expectedNumber = 1;
+        for (String line : list.split("\n")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            int dot = line.indexOf('.');
+            long added = Long.parseLong(line.substring(line.lastIndexOf(' ') + 1));
+            if (Integer.parseInt(line.substring(0, dot)) != expectedNumber++ || added <= previous) {
+                failures.add("inconsistent line " + line);
+                return;
+            }
+            previous = added;
+        }
+    }
+}
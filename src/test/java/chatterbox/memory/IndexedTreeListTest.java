@@ -0,0 +1,39 @@
+package chatterbox.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IndexedTreeListTest {
+    @Test
+    public void randomOperations_matchArrayList() {
+        Random random = new Random(11);
+        List<Integer> expected = new ArrayList<>();
+        IndexedTreeList<Integer> actual = new IndexedTreeList<>();
+
+        for (int i = 0; i < 20000; ++i) {
+            int operation = random.nextInt(4);
+            if (operation == 0 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), actual.remove(index));
+            } else if (operation == 1 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, i), actual.set(index, i));
+            } else {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                actual.add(index, i);
+            }
+        }
+
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, new ArrayList<>(actual));
+        for (int i = 0; i < expected.size(); ++i) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package chatterbox.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import chatterbox.task.Task;
+import chatterbox.task.TodoTask;
+
+public class LazyTaskListTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void get_evictedTask_keepsUpdatedStatus() throws IOException {
+        File file = tempDir.resolve("tasks.txt").toFile();
+        Files.writeString(file.toPath(), "1 | T | 0 | borrow book\n2 | T | - | deleted\n"
+                + "3 | D | 1 | return book | 18-12-2025 18:00\n", StandardCharsets.UTF_8);
+        Storage<Task> storage = new Storage<>();
+        LazyTaskList tasks = LazyTaskList.open(file, 1);
+        storage.useItems(tasks);
+
+        storage.updateItemCompletion(0, true);
+        storage.getItem(1);
+        storage.addItem(new TodoTask("jog"));
+
+        assertEquals(3, storage.size());
+        assertEquals(1, storage.indexOfId(3));
+        assertEquals("[T] [X] borrow book", storage.getItem(0).toString());
+        assertEquals("[D] [X] return book (by: Dec 18 2025 18:00)", storage.getItem(1).toString());
+        assertEquals(4, storage.getItem(2).getId());
+        tasks.close();
+    }
+
+    @Test
+    public void removeItems_savedAndAddedTasks_keepsRemainingTasksInOrder() throws IOException {
+        File file = tempDir.resolve("tasks.txt").toFile();
+        StringBuilder lines = new StringBuilder();
+        for (int id = 1; id <= 8; ++id) {
+            lines.append(id).append(" | T | ").append(id % 2).append(" | task ").append(id).append('\n');
+        }
+        Files.writeString(file.toPath(), lines, StandardCharsets.UTF_8);
+        Storage<Task> storage = new Storage<>();
+        LazyTaskList tasks = LazyTaskList.open(file, 2);
+        storage.useItems(tasks);
+        storage.addItem(new TodoTask("task 9"));
+        storage.addItem(new TodoTask("task 10"));
+
+        List<Task> removed = storage.removeItems(new int[] {0, 3, 4, 8});
+
+        assertEquals(List.of(1L, 4L, 5L, 9L), removed.stream().map(Task::getId).toList());
+        assertEquals(6, storage.size());
+        long[] ids = {2, 3, 6, 7, 8, 10};
+        for (int i = 0; i < ids.length; ++i) {
+            assertEquals(ids[i], storage.getItem(i).getId());
+            assertEquals("[T] [" + (ids[i] % 2 == 1 ? "X" : " ") + "] task " + ids[i], storage.getItem(i).toString());
+        }
+        assertTrue(storage.indexOfId(9) < 0);
+        tasks.close();
+    }
+
+    @Test
+    public void open_linesWithoutIds_returnsNull() throws IOException {
+        File file = tempDir.resolve("tasks.txt").toFile();
+        Files.writeString(file.toPath(), "T | 0 | borrow book\n", StandardCharsets.UTF_8);
+
+        assertNull(LazyTaskList.open(file, 16));
+    }
+}
@@ -0,0 +1,52 @@
+package chatterbox.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ParallelTaskLoaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_manySmallChunks_keepsFileOrderAndStatusOffsets() throws IOException {
+        File file = tempDir.resolve("tasks.txt").toFile();
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 300; ++i) {
+            lines.add(i + " | T | " + (i % 3 == 0 ? "1" : "0") + " | task " + i);
+        }
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+
+        ParallelTaskLoader.LoadResult result = ParallelTaskLoader.load(file, 50);
+
+        assertEquals(300, result.getTasks().size());
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        for (int i = 0; i < 300; ++i) {
+            assertEquals("task " + (i + 1), result.getTasks().get(i).getTaskDescription());
+            assertEquals((i + 1) % 3 == 0 ? '1' : '0', (char) bytes[(int) result.getStatusOffsets()[i]]);
+        }
+    }
+
+    @Test
+    public void load_corruptedAndDeletedLines_skipsAndCountsThem() throws IOException {
+        File file = tempDir.resolve("tasks.txt").toFile();
+        Files.write(file.toPath(), List.of("1 | T | 0 | borrow book", "X | corrupted", "2 | T | - | read book", "",
+                "3 | T | 1 | return book"), StandardCharsets.UTF_8);
+
+        ParallelTaskLoader.LoadResult result = ParallelTaskLoader.load(file, 16);
+
+        assertEquals(2, result.getTasks().size());
+        assertEquals(3, result.getTasks().get(1).getId());
+        assertEquals(2, result.getCorruptedLines());
+        assertEquals(1, result.getDeletedLines());
+    }
+}
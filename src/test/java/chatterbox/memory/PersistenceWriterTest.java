@@ -0,0 +1,64 @@
+package chatterbox.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class PersistenceWriterTest {
+    @Test
+    public void flush_submittedChanges_commitsThemInOrderAndSyncs() {
+        List<Long> committed = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger syncs = new AtomicInteger();
+        PersistenceWriter writer = PersistenceWriter.start("os-buffered",
+                batch -> batch.forEach(mutation -> committed.add(mutation.getId())), syncs::incrementAndGet);
+
+        for (long id = 1; id <= 100; ++id) {
+            writer.submit(Mutation.delete(id));
+        }
+        writer.flush();
+
+        assertEquals(100, committed.size());
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(i + 1L, (long) committed.get(i));
+        }
+        assertEquals(1, syncs.get());
+    }
+
+    @Test
+    public void flush_nothingSubmitted_doesNotSync() {
+        AtomicInteger syncs = new AtomicInteger();
+        PersistenceWriter writer = PersistenceWriter.start("fsync-every-op", batch -> { }, syncs::incrementAndGet);
+
+        writer.flush();
+
+        assertEquals(0, syncs.get());
+    }
+
+    @Test
+    public void submit_fsyncEveryOp_syncsEachBatch() {
+        AtomicInteger commits = new AtomicInteger();
+        AtomicInteger syncs = new AtomicInteger();
+        PersistenceWriter writer = PersistenceWriter.start("fsync-every-op",
+                batch -> commits.incrementAndGet(), syncs::incrementAndGet);
+
+        for (long id = 1; id <= 3; ++id) {
+            writer.submit(Mutation.status(id, true));
+            writer.flush();
+        }
+
+        assertEquals(3, commits.get());
+        assertEquals(3, syncs.get());
+    }
+
+    @Test
+    public void start_unknownPolicy_returnsNull() {
+        assertTrue(PersistenceWriter.start("fsync-sometimes", batch -> { }, () -> { }) == null);
+        assertTrue(PersistenceWriter.start("fsync-every-20-ms", batch -> { }, () -> { }) != null);
+    }
+}
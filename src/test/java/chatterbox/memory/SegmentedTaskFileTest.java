@@ -0,0 +1,72 @@
+package chatterbox.memory;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import chatterbox.task.Task;
+import chatterbox.task.TodoTask;
+
+public class SegmentedTaskFileTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_corruptedSegment_repairsOnlyThatSegment() throws IOException {
+        File directory = tempDir.toFile();
+        new SegmentedTaskFile(directory).writeAll(tasksOf(2500));
+        Path damaged = tempDir.resolve("segment-00000001.txt");
+        byte[] intact = Files.readAllBytes(tempDir.resolve("segment-00000000.txt"));
+        List<String> lines = new ArrayList<>(Files.readAllLines(damaged, StandardCharsets.UTF_8));
+        lines.set(5, "1029 | T | 0 | task 1029 with a flipped bit");
+        lines.set(6, "1030 | T | corrupted");
+        Files.write(damaged, lines, StandardCharsets.UTF_8);
+
+        Storage<Task> storage = new Storage<>();
+
+        assertTrue(new SegmentedTaskFile(directory).load(storage));
+        assertEquals(2499, storage.size());
+        assertTrue(storage.indexOfId(1030) < 0);
+        assertArrayEquals(intact, Files.readAllBytes(tempDir.resolve("segment-00000000.txt")));
+        assertFalse(new SegmentedTaskFile(directory).load(new Storage<>()));
+    }
+
+    @Test
+    public void commit_changedTasks_rewritesOnlyOwningSegments() throws IOException {
+        File directory = tempDir.toFile();
+        SegmentedTaskFile taskFile = new SegmentedTaskFile(directory);
+        taskFile.writeAll(tasksOf(2500));
+        byte[] untouched = Files.readAllBytes(tempDir.resolve("segment-00000001.txt"));
+
+        taskFile.commit(List.of(Mutation.status(3, true), Mutation.delete(2100), Mutation.delete(2500)));
+        Storage<Task> storage = new Storage<>();
+        new SegmentedTaskFile(directory).load(storage);
+
+        assertArrayEquals(untouched, Files.readAllBytes(tempDir.resolve("segment-00000001.txt")));
+        assertEquals(2498, storage.size());
+        assertTrue(storage.getItem(storage.indexOfId(3)).isCompleted());
+        assertTrue(storage.indexOfId(2100) < 0);
+    }
+
+    private static List<Task> tasksOf(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= count; ++i) {
+            Task task = new TodoTask("task " + i);
+            task.setId(i);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
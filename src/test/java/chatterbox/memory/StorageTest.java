@@ -0,0 +1,67 @@
+package chatterbox.memory;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import chatterbox.task.Task;
+import chatterbox.task.TodoTask;
+
+public class StorageTest {
+    @Test
+    public void removeItems_scatteredIndexes_removesTasksAtOriginalPositions() {
+        Storage<Task> storage = storageOf(6);
+
+        List<Task> removed = storage.removeItems(new int[] {0, 2, 3, 5});
+
+        assertEquals(4, removed.size());
+        assertEquals("task 1", removed.get(0).getTaskDescription());
+        assertEquals("task 6", removed.get(3).getTaskDescription());
+        assertEquals(2, storage.size());
+        assertEquals("task 2", storage.getItem(0).getTaskDescription());
+        assertEquals("task 5", storage.getItem(1).getTaskDescription());
+        assertEquals(1, storage.searchTasksByDescription("task 5").size());
+        assertEquals(0, storage.searchTasksByDescription("task 4").size());
+    }
+
+    @Test
+    public void removeItems_indexOutOfBounds_removesNothing() {
+        Storage<Task> storage = storageOf(3);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> storage.removeItems(new int[] {1, 3}));
+        assertEquals(3, storage.size());
+    }
+
+    @Test
+    public void findIndexes_completedTasks_returnsTheirIndexes() {
+        Storage<Task> storage = storageOf(5);
+        storage.updateItemsCompletion(new int[] {1, 4}, true);
+
+        assertArrayEquals(new int[] {1, 4}, storage.findIndexes(null, true));
+        assertArrayEquals(new int[] {0, 2, 3}, storage.findIndexes('T', false));
+    }
+
+    @Test
+    public void addItem_idAlreadyStored_throwsAndKeepsFirstTask() {
+        Storage<Task> storage = storageOf(3);
+        Task duplicate = new TodoTask("copy of task 2");
+        duplicate.setId(2);
+
+        assertThrows(IllegalArgumentException.class, () -> storage.addItem(duplicate));
+        assertEquals(3, storage.size());
+        assertEquals("task 2", storage.getItem(storage.indexOfId(2)).getTaskDescription());
+        assertEquals(0, storage.searchTasksByDescription("copy").size());
+    }
+
+    private static Storage<Task> storageOf(int count) {
+        Storage<Task> storage = new Storage<>();
+        for (int i = 1; i <= count; ++i) {
+            storage.addItem(new TodoTask("task " + i));
+        }
+        return storage;
+    }
+}
@@ -0,0 +1,104 @@
+package chatterbox.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import chatterbox.task.Task;
+
+public class TaskJournalTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void replay_tornLastRecord_dropsItAndCutsJournalShort() throws IOException {
+        File journalFile = tempDir.resolve("tasks_journal.txt").toFile();
+        TaskJournal journal = new TaskJournal(journalFile, tempDir.resolve("tasks.txt").toFile());
+        journal.append(List.of(Mutation.add("1 | T | 0 | borrow book"), Mutation.add("2 | T | 0 | read book")));
+        journal.append(List.of(Mutation.status(1, true)));
+        try (RandomAccessFile file = new RandomAccessFile(journalFile, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        List<Task> tasks = new ArrayList<>(journal.replay(new ArrayList<>()));
+
+        assertEquals(2, tasks.size());
+        assertFalse(tasks.get(0).isCompleted());
+        assertEquals(2, Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8).size());
+
+        journal.append(List.of(Mutation.delete(2)));
+        tasks = new ArrayList<>(journal.replay(new ArrayList<>()));
+
+        assertEquals(1, tasks.size());
+        assertEquals("borrow book", tasks.get(0).getTaskDescription());
+    }
+
+    @Test
+    public void load_repeatedIdWithoutJournal_dropsLaterTaskAndRewritesTaskFile() throws IOException {
+        File taskFile = tempDir.resolve("tasks.txt").toFile();
+        File journalFile = tempDir.resolve("tasks_journal.txt").toFile();
+        Files.write(taskFile.toPath(), List.of("1 | T | 0 | borrow book", "2 | T | 0 | read book",
+                "2 | T | 1 | copy of read book", "T | 0 | return book"), StandardCharsets.UTF_8);
+        TaskJournal journal = new TaskJournal(journalFile, taskFile);
+        Storage<Task> storage = new Storage<>();
+
+        boolean isCorrupted = journal.load(storage);
+
+        assertTrue(isCorrupted);
+        assertFalse(journalFile.exists());
+        assertEquals(3, storage.size());
+        assertEquals("read book", storage.getItem(1).getTaskDescription());
+        assertEquals(3, storage.getItem(2).getId());
+        assertEquals(List.of("1 | T | 0 | borrow book", "2 | T | 0 | read book", "3 | T | 0 | return book"),
+                Files.readAllLines(taskFile.toPath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void replay_recordsWithoutChecksums_appliesThem() throws IOException {
+        File journalFile = tempDir.resolve("tasks_journal.txt").toFile();
+        Files.write(journalFile.toPath(), List.of("A | 1 | T | 0 | borrow book", "M | 1 | 1"),
+                StandardCharsets.UTF_8);
+        TaskJournal journal = new TaskJournal(journalFile, tempDir.resolve("tasks.txt").toFile());
+
+        List<Task> tasks = new ArrayList<>(journal.replay(new ArrayList<>()));
+
+        assertEquals(1, tasks.size());
+        assertTrue(tasks.get(0).isCompleted());
+    }
+
+    @Test
+    public void replay_afterCompaction_appliesNewRecordsOnTopOfSnapshot() throws IOException {
+        File taskFile = tempDir.resolve("tasks.txt").toFile();
+        File journalFile = tempDir.resolve("tasks_journal.txt").toFile();
+        Files.write(taskFile.toPath(), List.of("1 | T | 0 | borrow book", "2 | T | 0 | read book"),
+                StandardCharsets.UTF_8);
+        TaskJournal journal = new TaskJournal(journalFile, taskFile);
+        journal.append(List.of(Mutation.status(1, true), Mutation.add("3 | T | 0 | return book")));
+
+        journal.compact();
+
+        assertEquals(0, journal.length());
+        assertEquals(List.of("1 | T | 1 | borrow book", "2 | T | 0 | read book", "3 | T | 0 | return book"),
+                Files.readAllLines(taskFile.toPath(), StandardCharsets.UTF_8));
+
+        journal.append(List.of(Mutation.delete(2), Mutation.status(3, true)));
+        List<Task> tasks = new ArrayList<>(journal.replay(ParallelTaskLoader.load(taskFile).getTasks()));
+
+        assertEquals(2, tasks.size());
+        assertTrue(tasks.get(0).isCompleted());
+        assertEquals("return book", tasks.get(1).getTaskDescription());
+        assertTrue(tasks.get(1).isCompleted());
+    }
+}
@@ -0,0 +1,91 @@
+package chatterbox.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import chatterbox.task.Task;
+import chatterbox.task.TodoTask;
+
+public class TextTaskFileTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void updateStatus_reloadedFile_flipsStatusInPlace() throws IOException {
+        File file = tempDir.resolve("tasks.txt").toFile();
+        Files.write(file.toPath(), List.of("1 | T | 0 | borrow book", "2 | T | 0 | read book"),
+                StandardCharsets.UTF_8);
+        long length = file.length();
+        TextTaskFile taskFile = new TextTaskFile(file);
+        taskFile.load(new Storage<>());
+
+        taskFile.updateStatus(2, true);
+        Storage<Task> storage = new Storage<>();
+        new TextTaskFile(file).load(storage);
+
+        assertEquals(length, file.length());
+        assertFalse(storage.getItem(0).isCompleted());
+        assertTrue(storage.getItem(1).isCompleted());
+    }
+
+    @Test
+    public void deleteAndAppend_reloadedFile_keepsIdsOfRemainingTasks() throws IOException {
+        File file = Files.createFile(tempDir.resolve("tasks.txt")).toFile();
+        TextTaskFile taskFile = new TextTaskFile(file);
+        Storage<Task> storage = new Storage<>();
+        taskFile.load(storage);
+        for (String description : List.of("borrow book", "read book", "return book")) {
+            Task task = new TodoTask(description);
+            storage.addItem(task);
+            taskFile.append(task);
+        }
+
+        taskFile.delete(2);
+        taskFile.updateStatus(3, true);
+        Storage<Task> reloaded = new Storage<>();
+        new TextTaskFile(file).load(reloaded);
+
+        assertEquals(2, reloaded.size());
+        assertEquals(3, reloaded.getItem(1).getId());
+        assertEquals("return book", reloaded.getItem(1).getTaskDescription());
+        assertTrue(reloaded.getItem(1).isCompleted());
+        assertEquals("2 | T | - | read book", Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).get(1));
+    }
+
+    @Test
+    public void load_linesWithoutIds_assignsIdsAndRewritesFile() throws IOException {
+        File file = tempDir.resolve("tasks.txt").toFile();
+        Files.write(file.toPath(), List.of("T | 0 | borrow book", "T | 1 | read book"), StandardCharsets.UTF_8);
+        TextTaskFile taskFile = new TextTaskFile(file);
+        Storage<Task> storage = new Storage<>();
+
+        assertFalse(taskFile.load(storage));
+        taskFile.updateStatus(1, true);
+
+        assertEquals(List.of("1 | T | 1 | borrow book", "2 | T | 1 | read book"),
+                Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void load_duplicateIds_keepsFirstTaskAndReportsCorruption() throws IOException {
+        File file = tempDir.resolve("tasks.txt").toFile();
+        Files.write(file.toPath(), List.of("1 | T | 0 | borrow book", "1 | T | 0 | copy of borrow book"),
+                StandardCharsets.UTF_8);
+        Storage<Task> storage = new Storage<>();
+
+        assertTrue(new TextTaskFile(file).load(storage));
+        assertEquals(1, storage.size());
+        assertEquals(List.of("1 | T | 0 | borrow book"), Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+    }
+}
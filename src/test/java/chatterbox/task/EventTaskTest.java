@@ -0,0 +1,57 @@
+package chatterbox.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import chatterbox.command.CommandProcessor;
+import chatterbox.command.ParsedCommand;
+import chatterbox.command.UndoLog;
+import chatterbox.memory.Storage;
+
+public class EventTaskTest {
+    @Test
+    public void constructor_validTimes_parsesStartAndEnd() {
+        EventTask task = new EventTask("project meeting", "18-12-2025 14:00", "18-12-2025 16:30");
+
+        assertTrue(task.hasTimes());
+        assertEquals(LocalDateTime.of(2025, 12, 18, 14, 0), task.getStart());
+        assertEquals(LocalDateTime.of(2025, 12, 18, 16, 30), task.getEnd());
+        assertEquals("[E] [ ] project meeting (from: Dec 18 2025 14:00 to: Dec 18 2025 16:30)", task.toString());
+    }
+
+    @Test
+    public void constructor_freeTextTimes_keepsTimesAsWritten() {
+        EventTask task = new EventTask("project meeting", "Mon 2pm", "4pm", true);
+
+        assertFalse(task.hasTimes());
+        assertEquals(null, task.getStart());
+        assertEquals("Mon 2pm", task.getStartTime());
+        assertEquals("[E] [X] project meeting (from: Mon 2pm to: 4pm)", task.toString());
+    }
+
+    @Test
+    public void constructor_parsedTimes_serializesThemInInputFormat() {
+        EventTask task = new EventTask("project meeting", LocalDateTime.of(2025, 12, 18, 14, 0),
+                LocalDateTime.of(2025, 12, 18, 16, 0), false);
+
+        assertEquals("18-12-2025 14:00", task.getStartTime());
+        assertEquals("18-12-2025 16:00", task.getEndTime());
+    }
+
+    @Test
+    public void processCommand_eventEndsBeforeStart_displayErrorMessage() {
+        Storage<Task> storage = new Storage<>();
+        ParsedCommand command =
+                ParsedCommand.of("event", "project meeting /from 18-12-2025 16:00 /to 18-12-2025 14:00");
+
+        String response = CommandProcessor.processCommand(storage, new UndoLog(), command);
+
+        assertEquals(0, storage.size());
+        assertEquals("Uh oh! Your event cannot end before it starts! Try again!", response.trim());
+    }
+}
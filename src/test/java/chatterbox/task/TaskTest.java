@@ -17,4 +17,12 @@ public class TaskTest {
         Task task = new TodoTask("default task");
         assertEquals("[T] [ ] default task", task.toString());
     }
+
+    @Test
+    public void hashCode_equalTasks_areEqual() {
+        Task task = new TodoTask("default task");
+        Task completedTask = new TodoTask("default task", true);
+        assertEquals(task, completedTask);
+        assertEquals(task.hashCode(), completedTask.hashCode());
+    }
 }
@@ -0,0 +1,127 @@
+package chatterbox.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ChatterBoxTest {
+    private static final File TASK_FILE = new File("./data/tasks.txt");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void run_scriptFile_runsCommandsUntilBye() throws IOException {
+        Path script = tempDir.resolve("script.txt");
+        Files.write(script, List.of("todo borrow book", "", "todo read book", "list", "bye", "todo never added"),
+                StandardCharsets.UTF_8);
+        ChatterBox chatterBox = new ChatterBox();
+
+        String response = chatterBox.run("run " + script);
+
+        assertTrue(response.contains("2.[T] [ ] read book"));
+        assertTrue(response.endsWith("Ran 3 commands from " + script + "."));
+        assertTrue(chatterBox.run("list").contains("2.[T] [ ] read book"));
+        assertFalse(chatterBox.run("list").contains("never added"));
+    }
+
+    @Test
+    public void run_scriptRunningItself_refusesToRecurse() throws IOException {
+        Path script = tempDir.resolve("script.txt");
+        Files.write(script, List.of("todo borrow book", "run " + script), StandardCharsets.UTF_8);
+        ChatterBox chatterBox = new ChatterBox();
+
+        String response = chatterBox.run("run " + script);
+
+        assertTrue(response.contains("is already running, so it cannot run itself!"));
+        assertTrue(response.endsWith("Ran 2 commands from " + script + "."));
+        assertTrue(chatterBox.run("run " + tempDir.resolve("missing.txt")).contains("I could not read"));
+    }
+
+    @Test
+    public void runBatch_severalChanges_savesThemOnceAtTheEnd() throws IOException {
+        long lengthBefore = TASK_FILE.length();
+        List<Long> lengthsDuringBatch = new ArrayList<>();
+        BufferedReader commands = new BufferedReader(new StringReader("todo a\ntodo b\nmark 1\ntodo c\n")) {
+            @Override
+            public String readLine() throws IOException {
+                lengthsDuringBatch.add(TASK_FILE.length());
+                return super.readLine();
+            }
+        };
+        StringBuilder out = new StringBuilder();
+
+        int count = new ChatterBox().runBatch(commands, out);
+
+        assertEquals(4, count);
+        for (long length : lengthsDuringBatch) {
+            assertEquals(lengthBefore, length);
+        }
+        assertTrue(TASK_FILE.length() > lengthBefore);
+    }
+
+    @Test
+    public void main_pipedInput_answersEachLineAndSavesOnce() throws IOException {
+        List<Long> lengthsWhileReading = new ArrayList<>();
+        String suffix = Long.toString(System.nanoTime());
+        byte[] input = ("todo piped a" + suffix + "\ntodo piped b" + suffix + "\nmark 1\nbye\n")
+                .getBytes(StandardCharsets.UTF_8);
+        InputStream lineByLine = new InputStream() {
+            private int position;
+
+            @Override
+            public int read() {
+                return position < input.length ? input[position++] : -1;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                lengthsWhileReading.add(TASK_FILE.length());
+                int count = 0;
+                while (count < length && position < input.length) {
+                    buffer[offset + count++] = input[position];
+                    if (input[position++] == '\n') {
+                        break;
+                    }
+                }
+                return count == 0 ? -1 : count;
+            }
+        };
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        InputStream stdin = System.in;
+        PrintStream stdout = System.out;
+        System.setIn(lineByLine);
+        System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+        try {
+            ChatterBox.main(new String[0]);
+        } finally {
+            System.setIn(stdin);
+            System.setOut(stdout);
+        }
+
+        // Loading may rewrite the save file before the first line is read.
+        long lengthLoaded = lengthsWhileReading.get(0);
+        assertTrue(lengthsWhileReading.size() >= 4);
+        for (long length : lengthsWhileReading) {
+            assertEquals(lengthLoaded, length);
+        }
+        assertTrue(TASK_FILE.length() > lengthLoaded);
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("[T] [ ] piped b" + suffix));
+    }
+}